@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.moviebrowser.repository.data;
+
+import static org.junit.Assert.assertEquals;
+
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Benchmark of decoding the recorded TMDb payloads with the streaming adapters of {@link MovieDbTypeAdapterFactory},
+ * compared with the reflective ones. Run on a device, the time and allocated bytes per page are logged, not asserted.
+ * The payloads are shared with the unit tests, see the androidTest assets in the build script.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MovieDbTypeAdapterBenchmark {
+
+    /**
+     * Tag for logging.
+     */
+    private static final String TAG = "MovieDbTypeAdapterBenchmark";
+
+    /**
+     * Nanoseconds in a microsecond.
+     */
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private static final Gson REFLECTIVE_GSON = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .create();
+
+    private static final Gson STREAMING_GSON = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .registerTypeAdapterFactory(new MovieDbTypeAdapterFactory())
+            .create();
+
+    private static final Type MOVIE_PAGE_TYPE = new TypeToken<PagingEnvelope<MovieData>>() {}.getType();
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final int WARM_UP_COUNT = 200;
+
+    private static final int BENCHMARK_COUNT = 1000;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * Decode a page of movies repeatedly with both adapters.
+     */
+    @Test
+    public void testDecodeMoviePage() throws IOException {
+        final String json = readAsset("tmdb/now_playing_page.json");
+        final int movieCount = REFLECTIVE_GSON.<PagingEnvelope<MovieData>>fromJson(json, MOVIE_PAGE_TYPE)
+                .getResults().size();
+        benchmark("reflective", REFLECTIVE_GSON, json, movieCount, WARM_UP_COUNT);
+        benchmark("streaming", STREAMING_GSON, json, movieCount, WARM_UP_COUNT);
+
+        benchmark("reflective", REFLECTIVE_GSON, json, movieCount, BENCHMARK_COUNT);
+        benchmark("streaming", STREAMING_GSON, json, movieCount, BENCHMARK_COUNT);
+    }
+
+    /**
+     * Decode the page for the times given, and log the time and allocated bytes per page after the warm-up.
+     * The allocation counter of {@link Debug} is deprecated but still counts the allocations of the thread.
+     */
+    @SuppressWarnings("deprecation")
+    private static void benchmark(final String name, final Gson gson, final String json, final int movieCount,
+            final int count) {
+        Debug.resetThreadAllocSize();
+        Debug.startAllocCounting();
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < count; ++i) {
+            final PagingEnvelope<MovieData> page = gson.fromJson(json, MOVIE_PAGE_TYPE);
+            assertEquals("Movie count does not match!", movieCount, page.getResults().size());
+        }
+
+        final long elapsedNanos = System.nanoTime() - startTime;
+        Debug.stopAllocCounting();
+        if (count == BENCHMARK_COUNT) {
+            Log.i(TAG, name + ": " + movieCount + " movies, " + elapsedNanos / count / NANOS_PER_MICRO + "us/page, "
+                    + Debug.getThreadAllocSize() / count + " bytes allocated/page");
+        }
+    }
+
+    private static String readAsset(final String path) throws IOException {
+        final InputStream input = InstrumentationRegistry.getContext().getAssets().open(path);
+        try {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int length;
+            while ((length = input.read(buffer)) > 0) {
+                output.write(buffer, 0, length);
+            }
+
+            return new String(output.toByteArray(), UTF8);
+        } finally {
+            input.close();
+        }
+    }
+}
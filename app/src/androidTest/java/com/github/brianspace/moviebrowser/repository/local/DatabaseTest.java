@@ -17,17 +17,27 @@
 package com.github.brianspace.moviebrowser.repository.local;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import android.content.Context;
 import android.support.test.InstrumentationRegistry;
 import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
 import com.github.brianspace.moviebrowser.repository.data.MovieData;
 import com.github.brianspace.moviebrowser.repository.data.MovieDetailsData;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.subscribers.TestSubscriber;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -39,6 +49,16 @@ import org.junit.runner.RunWith;
 @RunWith(AndroidJUnit4.class)
 public class DatabaseTest {
 
+    /**
+     * Tag for logging.
+     */
+    private static final String TAG = "DatabaseTest";
+
+    /**
+     * Nanoseconds in a microsecond.
+     */
+    private static final long NANOS_PER_MICRO = 1000;
+
     /**
      * Database object.
      */
@@ -103,6 +123,110 @@ public class DatabaseTest {
         assertEquals("Title does not match!", allResult.get(0).getTitle(), title);
     }
 
+    /**
+     * Test reading the favorites page by page.
+     */
+    @SuppressWarnings("PMD.JUnitTestContainsTooManyAsserts")
+    @Test
+    public void testRetrievePages() throws Exception {
+        db.clearData();
+        final int firstId = 200;
+        final int count = 5;
+        final int pageSize = 2;
+        for (int id = firstId; id < firstId + count; ++id) {
+            final MovieDetailsData movie = new MovieDetailsData();
+            setMovieFields(movie, id, "Movie " + id);
+            db.addFavoriteMovie(movie).test().await().assertComplete().assertNoErrors();
+        }
+
+        final TestSubscriber<List<MovieData>> testPagesSubscriber = db.getFavoriteMoviePages(pageSize).test();
+        testPagesSubscriber.await().assertNoErrors().assertComplete();
+        final List<List<MovieData>> pages = testPagesSubscriber.values();
+        assertEquals("Page count does not match!", 3, pages.size());
+        assertEquals("Page size does not match!", pageSize, pages.get(0).size());
+        assertEquals("Last page size does not match!", 1, pages.get(2).size());
+
+        final Set<Integer> ids = new HashSet<>();
+        for (final List<MovieData> page : pages) {
+            for (final MovieData movie : page) {
+                assertTrue("Movie is read more than once!", ids.add(movie.getId()));
+                assertEquals("Title does not match!", "Movie " + movie.getId(), movie.getTitle());
+            }
+        }
+
+        assertEquals("Movie count does not match!", count, ids.size());
+    }
+
+    /**
+     * Test that the favorites read page by page only have the summary fields, and the full data is read by ID.
+     */
+    @SuppressWarnings("PMD.JUnitTestContainsTooManyAsserts")
+    @Test
+    public void testLoadFullData() throws Exception {
+        db.clearData();
+        final int id = 300;
+        final String title = "Full Data";
+        final MovieDetailsData movie = new MovieDetailsData();
+        setMovieFields(movie, id, title);
+        final Field fieldOverview = MovieData.class.getDeclaredField("overview");
+        fieldOverview.setAccessible(true);
+        fieldOverview.set(movie, title);
+        db.addFavoriteMovie(movie).test().await().assertComplete().assertNoErrors();
+
+        final TestSubscriber<List<MovieData>> testPagesSubscriber = db.getFavoriteMoviePages(1).test();
+        testPagesSubscriber.await().assertNoErrors().assertComplete();
+        final MovieData summary = testPagesSubscriber.values().get(0).get(0);
+        assertEquals("Title does not match!", title, summary.getTitle());
+        assertNull("Overview should not be read with the summary!", summary.getOverview());
+
+        final TestObserver<MovieData> testRetrieveObserver = db.getFavoriteMovie(id).test();
+        testRetrieveObserver.await().assertNoErrors().assertComplete();
+        assertEquals("Overview does not match!", title, testRetrieveObserver.values().get(0).getOverview());
+    }
+
+    /**
+     * Benchmark of reading all favorites while write transactions are in flight.
+     * With write-ahead logging the reads are not blocked by the writes. The latencies are logged, not asserted.
+     */
+    @Test
+    public void testReadWhileWriting() throws Exception {
+        db.clearData();
+        final int count = 500;
+        final int writeCount = 20;
+        final List<MovieData> movies = new ArrayList<>(count);
+        for (int id = 1; id <= count; ++id) {
+            final MovieDetailsData movie = new MovieDetailsData();
+            setMovieFields(movie, id, "Movie " + id);
+            movies.add(movie);
+        }
+
+        db.updateFavoriteMovies(movies, Collections.<MovieData>emptyList()).test().await().assertResult(true);
+
+        final AtomicBoolean isWriting = new AtomicBoolean(true);
+        final Thread writer = new Thread(() -> {
+            for (int index = 0; index < writeCount; ++index) {
+                db.updateFavoriteMovies(movies, Collections.<MovieData>emptyList()).blockingGet();
+            }
+
+            isWriting.set(false);
+        });
+        writer.start();
+
+        final List<Long> latencies = new ArrayList<>();
+        while (isWriting.get()) {
+            final long start = System.nanoTime();
+            final List<MovieData> result = db.getAllFavoriteMovies().blockingGet();
+            latencies.add((System.nanoTime() - start) / NANOS_PER_MICRO);
+            assertEquals("All favorites should be read!", count, result.size());
+        }
+
+        writer.join();
+        assertFalse("No read is done while writing!", latencies.isEmpty());
+        Collections.sort(latencies);
+        Log.i(TAG, "loadAllFavorites while writing: " + latencies.size() + " reads, median "
+                + latencies.get(latencies.size() / 2) + "us, max " + latencies.get(latencies.size() - 1) + "us");
+    }
+
     private void setMovieFields(final MovieDetailsData movie, final int id, final String title) throws AssertionError {
         try {
             final Field fieldId = MovieData.class.getDeclaredField("id");
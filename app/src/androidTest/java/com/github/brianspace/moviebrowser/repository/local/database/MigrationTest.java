@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.moviebrowser.repository.local.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import android.arch.persistence.db.SupportSQLiteDatabase;
+import android.arch.persistence.db.framework.FrameworkSQLiteOpenHelperFactory;
+import android.arch.persistence.room.testing.MigrationTestHelper;
+import android.database.Cursor;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import com.github.brianspace.moviebrowser.repository.data.MovieData;
+import java.io.IOException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Test cases for the migrations of {@link FavoriteDatabase}, validated against the exported schemas.
+ */
+@SuppressWarnings("PMD.JUnitTestContainsTooManyAsserts")
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    // region Private Constants
+
+    /**
+     * Name of the database created by the tests.
+     */
+    private static final String TEST_DATABASE = "migration-test";
+
+    private static final int MOVIE_ID = 100;
+    private static final long CREATE_TIME = 1000L;
+    private static final String TITLE = "Star Wars";
+    private static final String POSTER = "/poster.jpg";
+    private static final String OVERVIEW = "A long time ago in a galaxy far, far away.";
+    private static final float VOTE_AVERAGE = 8.5f;
+    private static final String JSON = "{\"id\": " + MOVIE_ID + ", \"title\": \"" + TITLE + "\", \"poster_path\": \""
+            + POSTER + "\", \"overview\": \"" + OVERVIEW + "\", \"vote_average\": " + VOTE_AVERAGE + "}";
+
+    private static final float DELTA = 0.0001f;
+
+    // endregion
+
+    // region Public Fields
+
+    /**
+     * Helper to create the databases of the old versions and validate the migrated ones.
+     */
+    @Rule
+    public final MigrationTestHelper helper = new MigrationTestHelper(InstrumentationRegistry.getInstrumentation(),
+            FavoriteDatabase.class.getCanonicalName(), new FrameworkSQLiteOpenHelperFactory());
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Test that migrating from version 1 fills the vote_average column from the stored JSON.
+     */
+    @Test
+    public void testMigrate1To2() throws IOException {
+        final SupportSQLiteDatabase database = helper.createDatabase(TEST_DATABASE, 1);
+        insertVersion1Row(database, MOVIE_ID, JSON);
+        insertVersion1Row(database, MOVIE_ID + 1, null);
+        database.close();
+
+        final SupportSQLiteDatabase migrated =
+                helper.runMigrationsAndValidate(TEST_DATABASE, 2, true, FavoriteDatabase.MIGRATION_1_2);
+        final Cursor cursor = migrated.query("SELECT id, title, vote_average, json FROM Favorite ORDER BY id");
+        try {
+            assertTrue("Row is missing!", cursor.moveToNext());
+            assertEquals("ID does not match!", MOVIE_ID, cursor.getInt(0));
+            assertEquals("Title does not match!", TITLE, cursor.getString(1));
+            assertEquals("Vote average does not match!", VOTE_AVERAGE, cursor.getFloat(2), DELTA);
+            assertEquals("JSON does not match!", JSON, cursor.getString(3));
+
+            assertTrue("Row without JSON is missing!", cursor.moveToNext());
+            assertEquals("Vote average should be the default!", 0f, cursor.getFloat(2), DELTA);
+            assertFalse("Unexpected row!", cursor.moveToNext());
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Test that migrating from version 2 encodes the stored JSON into the data column.
+     */
+    @Test
+    public void testMigrate2To3() throws IOException {
+        final SupportSQLiteDatabase database = helper.createDatabase(TEST_DATABASE, 2);
+        database.execSQL("INSERT INTO Favorite (id, create_time, title, poster, vote_average, json)"
+                + " VALUES (?, ?, ?, ?, ?, ?)", new Object[]{MOVIE_ID, CREATE_TIME, TITLE, POSTER, VOTE_AVERAGE, JSON});
+        database.close();
+
+        final SupportSQLiteDatabase migrated =
+                helper.runMigrationsAndValidate(TEST_DATABASE, 3, true, FavoriteDatabase.MIGRATION_2_3);
+        verifyVersion3Row(migrated);
+    }
+
+    /**
+     * Test that migrating from version 2 keeps the rows whose JSON is missing or invalid, with the summary columns.
+     */
+    @Test
+    public void testMigrate2To3KeepsRowsWithoutValidJson() throws IOException {
+        final SupportSQLiteDatabase database = helper.createDatabase(TEST_DATABASE, 2);
+        final String[] jsonValues = {null, "{not json"};
+        for (int index = 0; index < jsonValues.length; ++index) {
+            database.execSQL("INSERT INTO Favorite (id, create_time, title, poster, vote_average, json)"
+                    + " VALUES (?, ?, ?, ?, ?, ?)",
+                    new Object[]{MOVIE_ID + index, CREATE_TIME, TITLE, POSTER, VOTE_AVERAGE, jsonValues[index]});
+        }
+
+        database.close();
+
+        final SupportSQLiteDatabase migrated =
+                helper.runMigrationsAndValidate(TEST_DATABASE, 3, true, FavoriteDatabase.MIGRATION_2_3);
+        final Cursor cursor = migrated.query("SELECT id, data FROM Favorite ORDER BY id");
+        try {
+            for (int index = 0; index < jsonValues.length; ++index) {
+                assertTrue("Row is missing!", cursor.moveToNext());
+                assertEquals("ID does not match!", MOVIE_ID + index, cursor.getInt(0));
+
+                final MovieData movie = Favorite.decodeMovie(cursor.getBlob(1));
+                assertNotNull("Summary is not encoded!", movie);
+                assertEquals("Decoded ID does not match!", MOVIE_ID + index, movie.getId());
+                assertEquals("Decoded title does not match!", TITLE, movie.getTitle());
+                assertEquals("Decoded vote average does not match!", VOTE_AVERAGE, movie.getVoteAverage(), DELTA);
+            }
+
+            assertFalse("Unexpected row!", cursor.moveToNext());
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Test migrating from version 1 to the latest version through all the migrations.
+     */
+    @Test
+    public void testMigrate1To3() throws IOException {
+        final SupportSQLiteDatabase database = helper.createDatabase(TEST_DATABASE, 1);
+        insertVersion1Row(database, MOVIE_ID, JSON);
+        database.close();
+
+        final SupportSQLiteDatabase migrated = helper.runMigrationsAndValidate(TEST_DATABASE, 3, true,
+                FavoriteDatabase.MIGRATION_1_2, FavoriteDatabase.MIGRATION_2_3);
+        verifyVersion3Row(migrated);
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private static void insertVersion1Row(final SupportSQLiteDatabase database, final int id, final String json) {
+        database.execSQL("INSERT INTO Favorite (id, create_time, title, poster, json) VALUES (?, ?, ?, ?, ?)",
+                new Object[]{id, CREATE_TIME, TITLE, POSTER, json});
+    }
+
+    private static void verifyVersion3Row(final SupportSQLiteDatabase database) {
+        final Cursor cursor = database.query("SELECT id, create_time, title, poster, vote_average, data"
+                + " FROM Favorite");
+        try {
+            assertTrue("Row is missing!", cursor.moveToNext());
+            assertEquals("ID does not match!", MOVIE_ID, cursor.getInt(0));
+            assertEquals("Create time does not match!", CREATE_TIME, cursor.getLong(1));
+            assertEquals("Title does not match!", TITLE, cursor.getString(2));
+            assertEquals("Poster does not match!", POSTER, cursor.getString(3));
+            assertEquals("Vote average does not match!", VOTE_AVERAGE, cursor.getFloat(4), DELTA);
+
+            final MovieData movie = Favorite.decodeMovie(cursor.getBlob(5));
+            assertNotNull("Data is not decoded!", movie);
+            assertEquals("Decoded ID does not match!", MOVIE_ID, movie.getId());
+            assertEquals("Decoded overview does not match!", OVERVIEW, movie.getOverview());
+            assertFalse("Unexpected row!", cursor.moveToNext());
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // endregion
+}
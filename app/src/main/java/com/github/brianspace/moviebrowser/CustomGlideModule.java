@@ -26,7 +26,6 @@ import com.bumptech.glide.load.engine.cache.ExternalPreferredCacheDiskCacheFacto
 import com.bumptech.glide.load.model.GlideUrl;
 import com.bumptech.glide.module.AppGlideModule;
 import java.io.InputStream;
-import java.util.concurrent.TimeUnit;
 import okhttp3.OkHttpClient;
 
 /**
@@ -46,16 +45,9 @@ public class CustomGlideModule extends AppGlideModule {
 
     @Override
     public void registerComponents(final Context context, final Glide glide, final Registry registry) {
-        final OkHttpClient.Builder builder = new OkHttpClient().newBuilder();
-        builder.connectTimeout(15, TimeUnit.SECONDS);
-        builder.readTimeout(30, TimeUnit.SECONDS);
-
-        // Uncomment to use Stetho network debugging
-        // if (BuildConfig.DEBUG) {
-        //     builder.addNetworkInterceptor(new com.facebook.stetho.okhttp3.StethoInterceptor()).build();
-        // }
-
-        final OkHttpClient client = builder.build();
+        // Share the connection pool and dispatcher with the API requests.
+        final OkHttpClient client = ((MovieBrowserApplication) context.getApplicationContext()).getAppComponent()
+                .imageOkHttpClient();
         registry.replace(GlideUrl.class, InputStream.class, new OkHttpUrlLoader.Factory(client));
     }
 }
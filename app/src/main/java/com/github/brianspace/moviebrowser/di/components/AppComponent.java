@@ -23,6 +23,7 @@ import com.github.brianspace.moviebrowser.di.modules.MainActivityModule;
 import com.github.brianspace.moviebrowser.di.modules.MovieDetailsActivityModule;
 import com.github.brianspace.moviebrowser.di.modules.NowPlayingMovieListFragmentModule;
 import com.github.brianspace.moviebrowser.di.modules.SettingsFragmentModule;
+import com.github.brianspace.moviebrowser.di.qualifiers.ImageHttpClient;
 import com.github.brianspace.moviebrowser.models.ModelsModule;
 import com.github.brianspace.moviebrowser.repository.local.LocalRepositoryModule;
 import com.github.brianspace.moviebrowser.repository.web.MovieDbServiceModule;
@@ -32,6 +33,7 @@ import dagger.android.AndroidInjectionModule;
 import dagger.android.AndroidInjector;
 import dagger.android.support.AndroidSupportInjectionModule;
 import javax.inject.Singleton;
+import okhttp3.OkHttpClient;
 
 /**
  * Dagger component for the application.
@@ -44,6 +46,13 @@ import javax.inject.Singleton;
         ViewModelsModule.class, ModelsModule.class, LocalRepositoryModule.class, MovieDbServiceModule.class})
 public interface AppComponent extends AndroidInjector<MovieBrowserApplication> {
 
+    /**
+     * Get the OkHttp client for downloading images, for Glide which is not created by Dagger.
+     * @return the client sharing the connection pool and dispatcher with the other HTTP requests.
+     */
+    @ImageHttpClient
+    OkHttpClient imageOkHttpClient();
+
     /**
      * Component builder.
      */
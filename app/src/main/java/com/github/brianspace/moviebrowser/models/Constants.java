@@ -35,4 +35,24 @@ class Constants {
      * Default image path in the URL, use original image size.
      */
     /* default */ static final String DEFAULT_IMAGE_PATH = DEFAULT_IMAGE_BASE_URL + "original/";
-}
\ No newline at end of file
+
+    /**
+     * Number of recently used movie models (with their details and similar movies) kept in memory.
+     */
+    /* default */ static final int RECENT_MOVIES_CACHE_SIZE = 50;
+
+    /**
+     * Number of pages fetched ahead of the loaded movie list.
+     */
+    /* default */ static final int NEXT_PAGE_PREFETCH_DEPTH = 1;
+
+    /**
+     * Number of pages after the first one fetched together when the now playing list is loaded.
+     */
+    /* default */ static final int NOW_PLAYING_BOOTSTRAP_PAGE_COUNT = 2;
+
+    /**
+     * Number of favorite movies read from the database at a time.
+     */
+    /* default */ static final int FAVORITE_PAGE_SIZE = 50;
+}
@@ -18,9 +18,11 @@ package com.github.brianspace.moviebrowser.models;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
 import com.github.brianspace.common.objstore.ModelObjectStore;
 import com.github.brianspace.moviebrowser.repository.IMovieDbService;
 import com.github.brianspace.moviebrowser.repository.data.MovieData;
+import java.util.List;
 import javax.inject.Inject;
 
 /**
@@ -46,7 +48,18 @@ class EntityStore implements IEntityStore {
      */
     @Inject
     /* default */ EntityStore(@NonNull final IMovieDbService movieDbService) {
-        movieModelObjectStore = new ModelObjectStore<>(data -> new Movie(movieDbService, this, data));
+        this(movieDbService, Constants.RECENT_MOVIES_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param movieDbService the interface to call Movie DB Web API.
+     * @param recentMoviesCacheSize number of recently used movies to keep in memory, 0 to disable.
+     */
+    /* default */ EntityStore(@NonNull final IMovieDbService movieDbService, final int recentMoviesCacheSize) {
+        movieModelObjectStore = new ModelObjectStore<>(data -> new Movie(movieDbService, this, data),
+                recentMoviesCacheSize > 0 ? new LruCache<>(recentMoviesCacheSize) : null);
     }
 
     // endregion
@@ -59,11 +72,22 @@ class EntityStore implements IEntityStore {
         return movieModelObjectStore.getOrCreate(movieData);
     }
 
+    @NonNull
+    @Override
+    public List<Movie> getMovieModels(@NonNull final List<MovieData> movieDataList) {
+        return movieModelObjectStore.getOrCreateAll(movieDataList);
+    }
+
     @Nullable
     @Override
     public Movie findMovieById(final int id) {
         return movieModelObjectStore.find(id);
     }
 
+    @Override
+    public boolean hasMovie(final int id) {
+        return movieModelObjectStore.contains(id);
+    }
+
     // endregion
 }
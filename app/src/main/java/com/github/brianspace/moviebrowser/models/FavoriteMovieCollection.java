@@ -17,11 +17,11 @@
 package com.github.brianspace.moviebrowser.models;
 
 import android.support.annotation.NonNull;
-import android.support.annotation.Nullable;
 import com.github.brianspace.common.observable.CollectionObservableBase;
 import com.github.brianspace.common.observable.ICollectionObserver.Action;
+import com.github.brianspace.common.util.IntIntHashMap;
+import com.github.brianspace.common.util.ListPositionIndex;
 import com.github.brianspace.moviebrowser.repository.IFavoriteStore;
-import com.github.brianspace.moviebrowser.repository.data.MovieData;
 import io.reactivex.Completable;
 import io.reactivex.Single;
 import java.security.InvalidParameterException;
@@ -45,6 +45,18 @@ class FavoriteMovieCollection extends CollectionObservableBase implements IFavor
      * Interface for model entity store.
      */
     private final IEntityStore entityStore;
+    /**
+     * Index of the movie ids in the favorite list, updated together with the list.
+     */
+    private final ListPositionIndex<Movie> movieIndex = new ListPositionIndex<>(Movie::getId);
+    /**
+     * Sequence number of the last change of each movie ID still being written, guarded by this.
+     */
+    private final IntIntHashMap pendingChanges = new IntIntHashMap();
+    /**
+     * Sequence number of the last change, guarded by this.
+     */
+    private int changeCount;
 
     // endregion
 
@@ -100,19 +112,30 @@ class FavoriteMovieCollection extends CollectionObservableBase implements IFavor
     @Override
     public Completable load() {
         isLoading = true;
-        return favoriteStore.getAllFavoriteMovies()
-                .map(movieList -> {
-                    for (final MovieData movie : movieList) {
-                        final Movie movieModel = entityStore.getMovieModel(movie);
-                        movieModel.setFavorite(true);
-                        movies.add(movieModel);
-                        setChanged();
-                        notifyObservers(Action.AppendItem, movieModel, null);
+        return favoriteStore.getFavoriteMoviePages(Constants.FAVORITE_PAGE_SIZE)
+                .doOnNext(movieList -> {
+                    // Notify the favorites of each page as one change, so that the first page is shown immediately.
+                    beginBatch();
+                    try {
+                        final List<Movie> movieModels = entityStore.getMovieModels(movieList);
+                        for (int index = 0; index < movieModels.size(); ++index) {
+                            final Movie movieModel = movieModels.get(index);
+                            // The store only reads the summaries, so load the full data when the model needs it.
+                            if (movieModel.getMovieData() == movieList.get(index)) {
+                                movieModel.setFullDataSource(favoriteStore.getFavoriteMovie(movieModel.getId()));
+                            }
+
+                            movieModel.setFavorite(true);
+                            movies.add(movieModel);
+                            movieIndex.addLast(movieModel);
+                            setChanged();
+                            notifyObservers(Action.AppendItem, movieModel, null);
+                        }
+                    } finally {
+                        endBatch();
                     }
-
-                    return Irrelevant.INSTANCE;
                 })
-                .toCompletable()
+                .ignoreElements()
                 .doFinally(() -> {
                     isLoading = false;
                 });
@@ -122,6 +145,7 @@ class FavoriteMovieCollection extends CollectionObservableBase implements IFavor
     @Override
     public Completable refresh() {
         movies.clear();
+        movieIndex.clear();
         setChanged();
         notifyObservers(Action.Clear, null, null);
         return load();
@@ -138,42 +162,56 @@ class FavoriteMovieCollection extends CollectionObservableBase implements IFavor
         return Completable.complete();
     }
 
+    @Override
+    public void prefetchNextPages() {
+        // All favorites are loaded at once.
+    }
+
     @NonNull
     @Override
     public Single<Boolean> addToFavorite(@NonNull final Movie movie) {
-        final Movie found = findModelWithSameId(movie);
-        if (found != null || movie.isFavorite()) {
+        if (movieIndex.contains(movie.getId()) || movie.isFavorite()) {
             throw new InvalidParameterException("The movie is already in favorite list!");
         }
 
-        return favoriteStore.addFavoriteMovie(movie.getMovieData())
-                .map(result -> {
-                    if (result) {
-                        movies.add(0, movie);
-                        movie.setFavorite(true);
-                        setChanged();
-                        notifyObservers(Action.AddItemToFront, movie, null);
+        // Show the change at once, so that a quick toggle back is coalesced by the store instead of written.
+        insertFavorite(movie);
+        final int id = movie.getId();
+        final int change = beginChange(id);
+        return movie.loadFullData()
+                .flatMap(favoriteStore::addFavoriteMovie)
+                .doOnSuccess(result -> {
+                    if (endChange(id, change) && !result) {
+                        deleteFavorite(movie);
+                    }
+                })
+                .doOnError(err -> {
+                    if (endChange(id, change)) {
+                        deleteFavorite(movie);
                     }
-                    return result;
                 });
     }
 
     @NonNull
     @Override
     public Single<Boolean> removeFromFavorite(@NonNull final Movie movie) {
-        final Movie found = findModelWithSameId(movie);
-
-        if (found != null && movie.isFavorite()) {
-            return favoriteStore.deleteFavoriteMovie(movie.getMovieData()).map(result -> {
-                if (result) {
-                    movies.remove(found);
-                    movie.setFavorite(false);
-                    setChanged();
-                    notifyObservers(Action.RemoveItem, movie, null);
-                }
-
-                return result;
-            });
+        final int id = movie.getId();
+        if (movieIndex.contains(id) && movie.isFavorite()) {
+            deleteFavorite(movie);
+            final int change = beginChange(id);
+            // Keep the full data for the movie model, since it cannot be loaded after deleted.
+            return movie.loadFullData()
+                    .flatMap(favoriteStore::deleteFavoriteMovie)
+                    .doOnSuccess(result -> {
+                        if (endChange(id, change) && !result) {
+                            insertFavorite(movie);
+                        }
+                    })
+                    .doOnError(err -> {
+                        if (endChange(id, change)) {
+                            insertFavorite(movie);
+                        }
+                    });
         }
 
         throw new InvalidParameterException("The movie is not a favorite movie!");
@@ -188,11 +226,17 @@ class FavoriteMovieCollection extends CollectionObservableBase implements IFavor
      * For simplicity, database is not cleared here but in the cleaner.
      */
     /* default */ void clear() {
+        // The results of the changes being written no longer apply.
+        synchronized (this) {
+            pendingChanges.clear();
+        }
+
         for (final Movie item : movies) {
             item.setFavorite(false);
         }
 
         movies.clear();
+        movieIndex.clear();
         setChanged();
         notifyObservers(Action.Clear, null, null);
     }
@@ -201,18 +245,55 @@ class FavoriteMovieCollection extends CollectionObservableBase implements IFavor
 
     // region Private Methods
 
-    @Nullable
-    private Movie findModelWithSameId(@NonNull final Movie movie) {
+    /**
+     * Add the movie to the front of the list.
+     */
+    private void insertFavorite(@NonNull final Movie movie) {
+        movies.add(0, movie);
+        movieIndex.addFirst(movie);
+        movie.setFavorite(true);
+        setChanged();
+        notifyObservers(Action.AddItemToFront, movie, null);
+    }
+
+    /**
+     * Remove the movie from the list.
+     */
+    private void deleteFavorite(@NonNull final Movie movie) {
         final int id = movie.getId();
-        Movie found = null;
-        for (final Movie item : movies) {
-            if (item.getId() == id) {
-                found = item;
-                break;
-            }
+        final int position = movieIndex.indexOf(movies, id);
+        if (position >= 0) {
+            movies.remove(position);
+            movieIndex.remove(id);
+        }
+
+        movie.setFavorite(false);
+        setChanged();
+        notifyObservers(Action.RemoveItem, movie, null);
+    }
+
+    /**
+     * Start a change of the movie.
+     *
+     * @return sequence number of the change.
+     */
+    private synchronized int beginChange(final int id) {
+        pendingChanges.put(id, ++changeCount);
+        return changeCount;
+    }
+
+    /**
+     * Finish a change of the movie.
+     *
+     * @return true if it is still the last change of the movie, so the state shown is from this change.
+     */
+    private synchronized boolean endChange(final int id, final int change) {
+        if (pendingChanges.get(id, 0) != change) {
+            return false;
         }
 
-        return found;
+        pendingChanges.remove(id);
+        return true;
     }
 
     // endregion
@@ -19,6 +19,7 @@ package com.github.brianspace.moviebrowser.models;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import com.github.brianspace.moviebrowser.repository.data.MovieData;
+import java.util.List;
 import javax.inject.Singleton;
 
 /**
@@ -36,6 +37,14 @@ public interface IEntityStore {
     @NonNull
     Movie getMovieModel(@NonNull MovieData movieData);
 
+    /**
+     * Find or create movie models for a list of data layer movie objects, e.g. a page of movies.
+     * @param movieDataList data layer movie objects
+     * @return models matching the data layer movie objects, in the same order.
+     */
+    @NonNull
+    List<Movie> getMovieModels(@NonNull List<MovieData> movieDataList);
+
     /**
      * Find movie model object by ID.
      * @param id the movie ID
@@ -43,4 +52,11 @@ public interface IEntityStore {
      */
     @Nullable
     Movie findMovieById(int id);
+
+    /**
+     * Check if the movie model of the ID exists, without counting it as a lookup.
+     * @param id the movie ID
+     * @return true if the movie model exists, otherwise false.
+     */
+    boolean hasMovie(int id);
 }
\ No newline at end of file
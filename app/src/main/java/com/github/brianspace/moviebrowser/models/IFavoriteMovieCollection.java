@@ -26,9 +26,11 @@ public interface IFavoriteMovieCollection extends IMovieCollection {
 
     /**
      * Add the movie to favorites.
+     * The movie is added to the list at once, and moved back if the change fails to be written.
      *
      * @param movie the movie model.
-     * @return RxJava {@code Single} result.
+     * @return RxJava {@code Single} result, false if the change is not written, e.g. replaced by a later change of
+     *     the same movie.
      */
     @NonNull
     Single<Boolean> addToFavorite(@NonNull final Movie movie);
@@ -36,9 +38,11 @@ public interface IFavoriteMovieCollection extends IMovieCollection {
 
     /**
      * Remove the movie from favorites.
+     * The movie is removed from the list at once, and moved back if the change fails to be written.
      *
      * @param movie the movie model.
-     * @return RxJava {@code Single} result.
+     * @return RxJava {@code Single} result, false if the change is not written, e.g. replaced by a later change of
+     *     the same movie.
      */
     @NonNull
     Single<Boolean> removeFromFavorite(@NonNull final Movie movie);
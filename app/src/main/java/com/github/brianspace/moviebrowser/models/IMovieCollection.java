@@ -70,4 +70,10 @@ public interface IMovieCollection extends IObservable<ICollectionObserver> {
      */
     @NonNull
     Completable loadNextPage();
+
+    /**
+     * Start fetching the following pages in the background, so that {@link #loadNextPage()} can complete from memory.
+     * Does nothing if prefetching is not supported or not enabled.
+     */
+    void prefetchNextPages();
 }
@@ -77,7 +77,9 @@ public class ModelsModule {
     @Named("NowPlaying")
     /* default */ static IMovieCollection provideNowPlayingMovieList(final IMovieDbService service,
             final IEntityStore entityStore) {
-        return new NowPlayingMovieCollection(service, entityStore);
+        final NowPlayingMovieCollection nowPlaying = new NowPlayingMovieCollection(service, entityStore);
+        nowPlaying.setBootstrapPageCount(Constants.NOW_PLAYING_BOOTSTRAP_PAGE_COUNT);
+        return nowPlaying;
     }
 
     @Provides
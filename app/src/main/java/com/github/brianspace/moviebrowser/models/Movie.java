@@ -27,6 +27,7 @@ import com.github.brianspace.moviebrowser.repository.data.MovieData;
 import com.github.brianspace.moviebrowser.repository.data.MovieDetailsData;
 import com.github.brianspace.moviebrowser.repository.data.PagingEnvelope;
 import io.reactivex.Completable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 import java.security.InvalidParameterException;
 
@@ -42,19 +43,20 @@ public class Movie extends ObjectObservableBase implements IEntity {
      */
     private final IMovieDbService movieDbService;
     /**
-     * Data layer movie object.
+     * Data layer movie object, replaced by the full data once loaded if the movie is created from a summary.
      */
-    private final MovieData movieData;
+    private volatile MovieData movieData;
 
     /**
-     * Poster image path.
+     * Source of the full data if the movie is created from a summary with only the fields needed by the movie list,
+     * otherwise null. Guarded by this.
      */
-    private final String posterPath;
+    private Maybe<MovieData> fullDataSource;
 
     /**
-     * Backdrop image path.
+     * Poster image path.
      */
-    private final String backdropPath;
+    private final String posterPath;
 
     /**
      * Flag indicating the status of loading details.
@@ -141,7 +143,7 @@ public class Movie extends ObjectObservableBase implements IEntity {
 
     /* default */ Movie(@NonNull final IMovieDbService movieDbService, @NonNull final IEntityStore entityStore,
             @NonNull final MovieData movie) {
-        if (BuildConfig.DEBUG && entityStore.findMovieById(movie.getId()) != null) {
+        if (BuildConfig.DEBUG && entityStore.hasMovie(movie.getId())) {
             throw new InvalidParameterException(
                     "DO NOT create a different instance for the same ID!");
         }
@@ -150,7 +152,6 @@ public class Movie extends ObjectObservableBase implements IEntity {
         this.movieData = Assertion.notNull(movie);
 
         posterPath = getValidImagePath(movie.getPosterPath());
-        backdropPath = getValidImagePath(movie.getBackdropPath());
 
         this.similarMovies = new SimilarMovies(movieDbService, Assertion.notNull(entityStore));
     }
@@ -190,7 +191,8 @@ public class Movie extends ObjectObservableBase implements IEntity {
      */
     @Nullable
     public String getBackdropPath() {
-        return backdropPath;
+        // Not kept in a field, as it is not in the summary data and only available once the full data is loaded.
+        return getValidImagePath(movieData.getBackdropPath());
     }
 
     /**
@@ -229,7 +231,8 @@ public class Movie extends ObjectObservableBase implements IEntity {
     }
 
     /**
-     * Load movie details. The result of getDetails() may change.
+     * Load movie details, and the full data if the movie is created from a summary. The result of getDetails(),
+     * getOverview() and getBackdropPath() may change.
      *
      * @return RxJava {@code Completable}
      */
@@ -240,14 +243,16 @@ public class Movie extends ObjectObservableBase implements IEntity {
         }
 
         isLoadingDetails = true;
-        detailsCompletable = movieDbService.getMovieDetails(movieData.getId())
+        final Completable loadDetailsData = movieDbService.getMovieDetails(movieData.getId())
                 .map(result -> {
                     details = new Details(result);
                     setChanged();
                     notifyObservers();
                     return Irrelevant.INSTANCE;
                 })
-                .toCompletable()
+                .toCompletable();
+        // The full data is loaded even if the details fail to load, e.g. for a favorite movie when offline.
+        detailsCompletable = Completable.mergeArrayDelayError(loadFullData().toCompletable(), loadDetailsData)
                 .doFinally(() -> isLoadingDetails = false);
         return detailsCompletable;
     }
@@ -273,6 +278,37 @@ public class Movie extends ObjectObservableBase implements IEntity {
         return movieData;
     }
 
+    /**
+     * Set the source of the full data, for a movie created from a summary with only the fields needed by the movie
+     * list.
+     *
+     * @param source RxJava {@code Maybe} for the full data, read on a background scheduler.
+     */
+    /* default */ synchronized void setFullDataSource(@NonNull final Maybe<MovieData> source) {
+        fullDataSource = source;
+    }
+
+    /**
+     * Load the full data layer object if the movie is created from a summary.
+     *
+     * @return RxJava {@code Single} for the full data, or the current data if it is already full or not found.
+     */
+    @NonNull
+    /* default */ Single<MovieData> loadFullData() {
+        return Single.defer(() -> {
+            final Maybe<MovieData> source;
+            synchronized (this) {
+                source = fullDataSource;
+            }
+
+            if (source == null) {
+                return Single.just(movieData);
+            }
+
+            return source.doOnSuccess(this::setFullData).toSingle(movieData);
+        });
+    }
+
     /**
      * Set favorite state.
      * @param value true if is a favorite movie, otherwise false.
@@ -289,6 +325,20 @@ public class Movie extends ObjectObservableBase implements IEntity {
 
     // region Private Methods
 
+    private void setFullData(@NonNull final MovieData data) {
+        synchronized (this) {
+            if (fullDataSource == null) {
+                return;
+            }
+
+            movieData = data;
+            fullDataSource = null;
+        }
+
+        setChanged();
+        notifyObservers();
+    }
+
     @Nullable
     private String getValidImagePath(final String path) {
         if (path != null && !path.isEmpty()) {
@@ -17,19 +17,27 @@
 package com.github.brianspace.moviebrowser.models;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.util.Log;
 import com.github.brianspace.common.observable.CollectionObservableBase;
 import com.github.brianspace.common.observable.ICollectionObserver.Action;
+import com.github.brianspace.common.util.IntHashSet;
 import com.github.brianspace.moviebrowser.BuildConfig;
 import com.github.brianspace.moviebrowser.repository.IMovieDbService;
 import com.github.brianspace.moviebrowser.repository.data.MovieData;
 import com.github.brianspace.moviebrowser.repository.data.PagingEnvelope;
 import io.reactivex.Completable;
+import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
 import io.reactivex.schedulers.Schedulers;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Base class for movie list.
@@ -64,70 +72,82 @@ public abstract class MovieCollection extends CollectionObservableBase implement
      */
     protected final List<Movie> movies = new ArrayList<>();
     /**
-     * State of data loading.
+     * IDs of the movies in {@link #movies}, for de-duplicating incoming pages in O(1) per item.
      */
-    protected boolean isLoading;
+    protected final IntHashSet movieIds = new IntHashSet();
 
     // endregion
 
     // region Private Fields
 
     /**
-     * Result returned by load().
+     * The request in progress, or null if not loading. Only one request runs at a time, shared by all the callers.
      */
-    private Completable loadCompletable;
+    private final AtomicReference<LoadRequest> currentRequest = new AtomicReference<>();
 
     /**
-     * Result returned by refresh().
+     * Generation of the list content, increased by refresh(). Pages requested for an older generation are dropped.
      */
-    private Completable refreshCompletable;
+    private final AtomicInteger generation = new AtomicInteger();
 
     /**
-     * Result returned by loadNextPage().
+     * Pages fetched ahead of the loaded list, in page order. Each one is cached so that it can be consumed by
+     * loadNextPage() whether or not the request has completed. Also used as the lock for prefetching.
      */
-    private Completable nextPageCompletable;
+    private final Deque<Single<PagingEnvelope<MovieData>>> prefetchedPages = new ArrayDeque<>();
 
     /**
-     * RxJava mapping function to extract the data layer pages of movies into model layer movie list.
+     * The last page in prefetchedPages, or null if it has not arrived yet.
      */
-    private final Function<PagingEnvelope<MovieData>, Object> resultHandler =
-            new Function<PagingEnvelope<MovieData>, Object>() {
-                @Override
-                public Object apply(final PagingEnvelope<MovieData> moviesResult) {
-                    if (moviesResult.getResults().isEmpty()) {
-                        return Irrelevant.INSTANCE;
-                    }
+    private PagingEnvelope<MovieData> lastPrefetchedPage;
 
-                    onMoviePage(moviesResult);
+    /**
+     * Maximum number of pages to fetch ahead, 0 to disable prefetching.
+     */
+    private int prefetchDepth = Constants.NEXT_PAGE_PREFETCH_DEPTH;
 
-                    isLoading = false;
-                    return Irrelevant.INSTANCE;
-                }
+    /**
+     * Number of pages after the first one to fetch concurrently in load(), 0 to disable.
+     */
+    private int bootstrapPageCount;
 
-                private void onMoviePage(final PagingEnvelope<MovieData> moviesResult) {
-                    resultList.add(moviesResult);
-                    final List<Object> appendList = new ArrayList<>();
-                    for (final MovieData movie : moviesResult.getResults()) {
-                        // Validate
-                        if (movie.isValid()) {
-                            // De-duplicate.
-                            final Movie model = entityStore.findMovieById(movie.getId());
-                            if (model == null || movies.indexOf(model) < 0) {
-                                final Movie movieModel = entityStore.getMovieModel(movie);
-                                movies.add(0, movieModel);
-                                appendList.add(0, movieModel);
-                            }
-                        } else if (BuildConfig.DEBUG) {
-                            Log.w(LOG_TAG, "Invalid movie data for: \n" + movie.toString());
-                        }
-                    }
+    // endregion
 
-                    if (!appendList.isEmpty()) {
-                        setChanged();
-                        notifyObservers(Action.AppendRange, null, appendList);
-                    }
-                }
-            };
+    // region Private Inner Types
+
+    /**
+     * State of a request for loading the list.
+     */
+    private enum LoadState {
+        Loading,
+        Refreshing,
+        LoadingNextPage
+    }
+
+    /**
+     * A request for loading the list.
+     */
+    private static final class LoadRequest {
+        /**
+         * State of the list while the request is in progress.
+         */
+        /* default */ final LoadState state;
+
+        /**
+         * Generation of the list content the request is made for.
+         */
+        /* default */ final int generation;
+
+        /**
+         * The cached result of the request, shared by all the callers.
+         */
+        /* default */ Completable completable;
+
+        /* default */ LoadRequest(final LoadState state, final int generation) {
+            this.state = state;
+            this.generation = generation;
+        }
+    }
 
     // endregion
 
@@ -156,7 +176,7 @@ public abstract class MovieCollection extends CollectionObservableBase implement
 
     @Override
     public boolean isLoading() {
-        return isLoading;
+        return currentRequest.get() != null;
     }
 
     @NonNull
@@ -168,71 +188,107 @@ public abstract class MovieCollection extends CollectionObservableBase implement
     @NonNull
     @Override
     public Completable load() {
-        if (isLoading && loadCompletable != null) {
-            return loadCompletable;
+        final LoadRequest current = currentRequest.get();
+        if (current != null) {
+            // Any request in progress loads the list as well.
+            return current.completable;
         }
 
         if (isLoaded()) {
             return Completable.complete();
         }
 
-        isLoading = true;
-        loadCompletable = getFirstPage()
-                .doFinally(() -> isLoading = false)
-                .map(resultHandler)
-                .toCompletable();
-        return loadCompletable;
+        return startRequest(LoadState.Loading, requestGeneration -> getFirstPage()
+                .flatMapObservable(this::withFollowingPages)
+                .doOnNext(moviesResult -> onMoviePage(requestGeneration, moviesResult))
+                .ignoreElements());
     }
 
     @NonNull
     @Override
     public Completable refresh() {
-        if (isLoading && refreshCompletable != null) {
-            return refreshCompletable;
-        }
+        return startRequest(LoadState.Refreshing, requestGeneration -> getFirstPage()
+                .doOnSuccess(moviesResult -> {
+                    final boolean isCleared;
+                    final List<Object> appended;
+                    synchronized (resultList) {
+                        isCleared = requestGeneration == generation.get();
+                        if (isCleared) {
+                            clearMovies();
+                        }
+
+                        appended = addMoviePage(requestGeneration, moviesResult);
+                    }
+
+                    // Notify outside of the lock, the observers may call back into the collection.
+                    if (isCleared) {
+                        setChanged();
+                        notifyObservers(Action.Clear, null, null);
+                    }
 
-        isLoading = true;
-        refreshCompletable = getFirstPage()
-                .doFinally(() -> isLoading = false)
-                .map(moviesResult -> {
-                    resultList.clear();
-                    movies.clear();
-                    setChanged();
-                    notifyObservers(Action.Clear, null, null);
-                    return moviesResult;
+                    notifyAppended(appended);
                 })
-                .map(resultHandler)
-                .toCompletable();
-        return refreshCompletable;
+                .toCompletable());
     }
 
     @Override
     public boolean hasNexPage() {
-        final int resultSize = resultList.size();
-        if (resultSize == 0) {
-            return true;
-        }
-
-        final PagingEnvelope<MovieData> prevResult = resultList.get(resultSize - 1);
-        return prevResult.getPage() < prevResult.getTotalPages();
+        final PagingEnvelope<MovieData> prevResult = getLastResult();
+        return prevResult == null || hasPageAfter(prevResult);
     }
 
     @NonNull
     @Override
     public Completable loadNextPage() {
-        if (isLoading && nextPageCompletable != null) {
-            return nextPageCompletable;
+        return startRequest(LoadState.LoadingNextPage, requestGeneration -> {
+            final Single<PagingEnvelope<MovieData>> prefetched;
+            synchronized (prefetchedPages) {
+                prefetched = prefetchedPages.pollFirst();
+            }
+
+            final Single<PagingEnvelope<MovieData>> nextPage = prefetched == null
+                    ? getNextPage(getLastResult()).subscribeOn(Schedulers.io()) : prefetched;
+            return nextPage
+                    .doOnSuccess(moviesResult -> onMoviePage(requestGeneration, moviesResult))
+                    .toCompletable();
+        });
+    }
+
+    @Override
+    public void prefetchNextPages() {
+        fillPrefetchQueue();
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Set the number of pages to fetch ahead of the loaded list.
+     *
+     * @param depth maximum number of pages to fetch ahead, 0 to disable prefetching.
+     */
+    public void setPrefetchDepth(final int depth) {
+        synchronized (prefetchedPages) {
+            prefetchDepth = depth;
+            while (prefetchedPages.size() > depth) {
+                prefetchedPages.pollLast();
+                lastPrefetchedPage = null;
+            }
         }
 
-        final int resultSize = resultList.size();
-        final PagingEnvelope<MovieData> prevResult = resultSize > 0 ? resultList.get(resultSize - 1) : null;
-        isLoading = true;
-        nextPageCompletable = getNextPage(prevResult)
-                .subscribeOn(Schedulers.io())
-                .doFinally(() -> isLoading = false)
-                .map(resultHandler)
-                .toCompletable();
-        return nextPageCompletable;
+        fillPrefetchQueue();
+    }
+
+    /**
+     * Set the number of pages after the first one to fetch concurrently in {@link #load()}, so that a large screen
+     * can be filled in about one round-trip time. The pages are added in page order.
+     * Only takes effect if the subclass supports {@link #getPage(int)}.
+     *
+     * @param count number of pages after the first one, 0 to load only the first page.
+     */
+    public void setBootstrapPageCount(final int count) {
+        bootstrapPageCount = count;
     }
 
     // endregion
@@ -255,5 +311,237 @@ public abstract class MovieCollection extends CollectionObservableBase implement
      */
     protected abstract Single<PagingEnvelope<MovieData>> getNextPage(PagingEnvelope<MovieData> prev);
 
+    /**
+     * Get a page of movie list by page number, used to fetch several pages concurrently.
+     * Subclass may override to support it, the default implementation returns null.
+     *
+     * @param page the page number, starting from 1.
+     * @return RxJava Observable of a page of movie data list, or null if not supported.
+     */
+    @Nullable
+    protected Single<PagingEnvelope<MovieData>> getPage(final int page) {
+        return null;
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    /**
+     * Start a request, or return the one in progress. Refreshing supersedes the other requests, and the pages they
+     * return later are dropped.
+     *
+     * @param state state of the list while the request is in progress.
+     * @param work function to create the request for the given generation of the list content.
+     * @return the cached result of the request.
+     */
+    private Completable startRequest(final LoadState state, final Function<Integer, Completable> work) {
+        while (true) {
+            final LoadRequest current = currentRequest.get();
+            if (current != null && (state != LoadState.Refreshing || current.state == LoadState.Refreshing)) {
+                return current.completable;
+            }
+
+            final int requestGeneration = state == LoadState.Refreshing
+                    ? generation.incrementAndGet() : generation.get();
+            final LoadRequest request = new LoadRequest(state, requestGeneration);
+            request.completable = Completable.defer(() -> work.apply(requestGeneration))
+                    .doOnComplete(() -> {
+                        if (finishRequest(request)) {
+                            fillPrefetchQueue();
+                        }
+                    })
+                    .doFinally(() -> finishRequest(request))
+                    .cache();
+            if (currentRequest.compareAndSet(current, request)) {
+                if (state == LoadState.Refreshing) {
+                    clearPrefetchQueue();
+                }
+
+                return request.completable;
+            }
+        }
+    }
+
+    /**
+     * Return to idle state if the request is still the current one.
+     *
+     * @return true if the request was the current one, otherwise false.
+     */
+    private boolean finishRequest(final LoadRequest request) {
+        return currentRequest.compareAndSet(request, null);
+    }
+
+    @Nullable
+    private PagingEnvelope<MovieData> getLastResult() {
+        synchronized (resultList) {
+            final int resultSize = resultList.size();
+            return resultSize > 0 ? resultList.get(resultSize - 1) : null;
+        }
+    }
+
+    /**
+     * Clear the model layer movie list. Must be called with {@link #resultList} locked, the observers are notified
+     * by the caller after the lock is released.
+     */
+    private void clearMovies() {
+        resultList.clear();
+        movies.clear();
+        movieIds.clear();
+    }
+
+    /**
+     * Add a page of movie data into the model layer movie list, and notify the observers.
+     * The page is dropped if the list has been refreshed after it was requested.
+     */
+    private void onMoviePage(final int requestGeneration, final PagingEnvelope<MovieData> moviesResult) {
+        final List<Object> appended;
+        synchronized (resultList) {
+            appended = addMoviePage(requestGeneration, moviesResult);
+        }
+
+        // Notify outside of the lock, the observers may call back into the collection.
+        notifyAppended(appended);
+    }
+
+    /**
+     * Add a page of movie data into the model layer movie list. Must be called with {@link #resultList} locked.
+     *
+     * @return the movies appended to the list, or null if none.
+     */
+    @Nullable
+    private List<Object> addMoviePage(final int requestGeneration, final PagingEnvelope<MovieData> moviesResult) {
+        if (requestGeneration != generation.get()) {
+            if (BuildConfig.DEBUG) {
+                Log.d(LOG_TAG, "Dropped page " + moviesResult.getPage() + " requested before refresh.");
+            }
+
+            return null;
+        }
+
+        // A page with only invalid movies is still kept, so that the next page will be loaded after it.
+        if (moviesResult.getResults().isEmpty() && moviesResult.getSkippedResults() == 0) {
+            return null;
+        }
+
+        resultList.add(moviesResult);
+        // The invalid movies have been skipped when decoding the page.
+        if (moviesResult.getSkippedResults() > 0 && BuildConfig.DEBUG) {
+            Log.w(LOG_TAG, "Skipped " + moviesResult.getSkippedResults() + " invalid movies in page "
+                    + moviesResult.getPage());
+        }
+
+        // Resolve the models of the whole page at once, and keep them in page order.
+        final List<Movie> pageMovies = entityStore.getMovieModels(moviesResult.getResults());
+        final List<Movie> appendList = new ArrayList<>(pageMovies.size());
+        for (final Movie movieModel : pageMovies) {
+            // De-duplicate.
+            if (movieIds.add(movieModel.getId())) {
+                appendList.add(movieModel);
+            }
+        }
+
+        if (appendList.isEmpty()) {
+            return null;
+        }
+
+        movies.addAll(appendList);
+        return Collections.<Object>unmodifiableList(appendList);
+    }
+
+    private void notifyAppended(@Nullable final List<Object> appended) {
+        if (appended != null) {
+            setChanged();
+            notifyObservers(Action.AppendRange, null, appended);
+        }
+    }
+
+    /**
+     * Emit the first page followed by the next pages for bootstrap, which are requested concurrently but emitted in
+     * page order. If one of the next pages fails, the rest are dropped and left to loadNextPage().
+     */
+    private Observable<PagingEnvelope<MovieData>> withFollowingPages(final PagingEnvelope<MovieData> first) {
+        final Observable<PagingEnvelope<MovieData>> firstPage = Observable.just(first);
+        final int lastPage = Math.min(first.getTotalPages(), first.getPage() + bootstrapPageCount);
+        final List<Observable<PagingEnvelope<MovieData>>> followingPages = new ArrayList<>();
+        for (int page = first.getPage() + 1; page <= lastPage; ++page) {
+            final Single<PagingEnvelope<MovieData>> pageSingle = getPage(page);
+            if (pageSingle == null) {
+                break;
+            }
+
+            followingPages.add(pageSingle.toObservable());
+        }
+
+        if (followingPages.isEmpty()) {
+            return firstPage;
+        }
+
+        // The number of concurrent requests is further limited by the OkHttp dispatcher.
+        return firstPage.concatWith(Observable.concatEager(followingPages, followingPages.size(), 1)
+                .onErrorResumeNext(Observable.<PagingEnvelope<MovieData>>empty()));
+    }
+
+    private static boolean hasPageAfter(@NonNull final PagingEnvelope<MovieData> page) {
+        return page.getPage() < page.getTotalPages();
+    }
+
+    /**
+     * Start fetching the page after the last loaded or prefetched one, if the prefetch queue is not full.
+     */
+    private void fillPrefetchQueue() {
+        synchronized (prefetchedPages) {
+            if (prefetchedPages.size() >= prefetchDepth) {
+                return;
+            }
+
+            if (!prefetchedPages.isEmpty()) {
+                // Otherwise continue when the last prefetched page arrives.
+                if (lastPrefetchedPage != null && hasPageAfter(lastPrefetchedPage)) {
+                    prefetchPageAfter(lastPrefetchedPage);
+                }
+
+                return;
+            }
+
+            // The page being loaded is not in resultList yet, wait until it is delivered.
+            final PagingEnvelope<MovieData> lastResult = getLastResult();
+            if (currentRequest.get() == null && lastResult != null && hasPageAfter(lastResult)) {
+                prefetchPageAfter(lastResult);
+            }
+        }
+    }
+
+    private void prefetchPageAfter(@NonNull final PagingEnvelope<MovieData> prev) {
+        final Single<PagingEnvelope<MovieData>> nextPage = getNextPage(prev).subscribeOn(Schedulers.io()).cache();
+        prefetchedPages.addLast(nextPage);
+        lastPrefetchedPage = null;
+        nextPage.subscribe(page -> onPagePrefetched(nextPage, page), error -> {
+            // Drop the failed page, so that loadNextPage() sends a new request instead.
+            synchronized (prefetchedPages) {
+                prefetchedPages.removeLastOccurrence(nextPage);
+            }
+        });
+    }
+
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private void onPagePrefetched(@NonNull final Single<PagingEnvelope<MovieData>> prefetched,
+            @NonNull final PagingEnvelope<MovieData> page) {
+        synchronized (prefetchedPages) {
+            // Only extend the queue from its tail, and ignore pages dropped by refresh().
+            if (prefetchedPages.peekLast() == prefetched) { // Compare object, not equals.
+                lastPrefetchedPage = page;
+                fillPrefetchQueue();
+            }
+        }
+    }
+
+    private void clearPrefetchQueue() {
+        synchronized (prefetchedPages) {
+            prefetchedPages.clear();
+            lastPrefetchedPage = null;
+        }
+    }
+
     // endregion
 }
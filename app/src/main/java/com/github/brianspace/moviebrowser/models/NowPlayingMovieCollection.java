@@ -57,5 +57,10 @@ class NowPlayingMovieCollection extends MovieCollection {
         return movieDbService.getMovieNowPlaying(prev);
     }
 
+    @Override
+    protected Single<PagingEnvelope<MovieData>> getPage(final int page) {
+        return movieDbService.getMovieNowPlayingPage(page);
+    }
+
     // endregion
 }
@@ -28,11 +28,37 @@ public class Constants {
      */
     public static final int HTTP_CACHE_SIZE = 10 * 1024 * 1024;
 
+    /**
+     * Time (in seconds) to cache the TMDb configuration, which rarely changes.
+     */
+    public static final int CACHE_MAX_AGE_CONFIGURATION = 24 * 60 * 60;
+
+    /**
+     * Time (in seconds) to cache the now playing movie pages.
+     */
+    public static final int CACHE_MAX_AGE_NOW_PLAYING = 5 * 60;
+
+    /**
+     * Time (in seconds) to cache the movie details.
+     */
+    public static final int CACHE_MAX_AGE_MOVIE_DETAILS = 60 * 60;
+
+    /**
+     * Time (in seconds) after the movie details expired, during which the cached details are still shown at once and
+     * refreshed in the background.
+     */
+    public static final int CACHE_STALE_WHILE_REVALIDATE_MOVIE_DETAILS = 7 * 24 * 60 * 60;
+
     /**
      * Database Name (for favorite movies).
      */
     public static final String DATABASE_NAME = "MovieDB";
 
+    /**
+     * Delay (in milliseconds) of writing the favorite changes, the changes within the delay are written together.
+     */
+    public static final long FAVORITE_WRITE_DELAY_MS = 300;
+
     /**
      * Timeout (in seconds) for connecting TMDb Web API. Use smaller value for debug mode.
      */
@@ -42,4 +68,25 @@ public class Constants {
      * Timeout (in seconds) for reading from TMDb Web API. Use smaller value for debug mode.
      */
     public static final int TMDB_API_TIMEOUT_READ = BuildConfig.DEBUG ? 1 : 5;
+
+    /**
+     * Timeout (in seconds) for connecting the image server.
+     */
+    public static final int IMAGE_TIMEOUT_CONNECT = 15;
+
+    /**
+     * Timeout (in seconds) for reading from the image server.
+     */
+    public static final int IMAGE_TIMEOUT_READ = 30;
+
+    /**
+     * Maximum number of concurrent HTTP requests of the app.
+     */
+    public static final int HTTP_MAX_REQUESTS = 64;
+
+    /**
+     * Maximum number of concurrent HTTP requests to each host. Raised from OkHttp's default of 5, so that a screen of
+     * posters is downloaded in parallel.
+     */
+    public static final int HTTP_MAX_REQUESTS_PER_HOST = 8;
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package com.github.brianspace.moviebrowser.repository;
 
 import android.support.annotation.NonNull;
 import com.github.brianspace.moviebrowser.repository.data.MovieData;
+import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 import io.reactivex.Single;
 import java.util.List;
@@ -37,16 +38,17 @@ public interface IFavoriteStore {
     /**
      * Add a favorite movie.
      *
-     * @param movie the data layer movie object.
-     * @return RxJava {@code Single} for the boolean result (false if failed to add).
+     * @param movie the data layer movie object, with the full data to be stored.
+     * @return RxJava {@code Single} for the boolean result (false if failed to add, or replaced by a later change of
+     *     the same movie before written).
      */
     Single<Boolean> addFavoriteMovie(@NonNull MovieData movie);
 
     /**
-     * Get a favorite movie by ID.
+     * Get the full data of a favorite movie by ID. The data is read on the IO scheduler.
      *
      * @param favoriteId ID of the movie.
-     * @return RxJava {@code Maybe} for the movie.
+     * @return RxJava {@code Maybe} for the movie, empty if the movie is not a favorite.
      */
     Maybe<MovieData> getFavoriteMovie(long favoriteId);
 
@@ -57,11 +59,35 @@ public interface IFavoriteStore {
      */
     Single<List<MovieData>> getAllFavoriteMovies();
 
+    /**
+     * Get all favorite movies page by page, most recently added first.
+     * Each page is read from the database only when requested by the subscriber. Only the summary fields needed by
+     * the movie list are read (ID, title, poster path and vote average), use {@link #getFavoriteMovie(long)} to get
+     * the full data of a movie.
+     *
+     * @param pageSize maximum number of movies in a page.
+     * @return RxJava {@code Flowable} for the pages of movies.
+     */
+    Flowable<List<MovieData>> getFavoriteMoviePages(int pageSize);
+
     /**
      * Delete a favorite movie.
      *
      * @param movie the data layer movie object.
-     * @return RxJava {@code Single} for the boolean result (false if failed to delete).
+     * @return RxJava {@code Single} for the boolean result (false if failed to delete, or replaced by a later change of
+     *     the same movie before written).
      */
     Single<Boolean> deleteFavoriteMovie(@NonNull MovieData movie);
+
+    /**
+     * Add and delete favorite movies in one transaction, e.g. for importing or syncing.
+     * The changes still waiting to be written by {@link #addFavoriteMovie(MovieData)} and
+     * {@link #deleteFavoriteMovie(MovieData)} are written in the same transaction, unless replaced by these.
+     *
+     * @param addedMovies the data layer movie objects to add, with the full data to be stored.
+     * @param deletedMovies the data layer movie objects to delete.
+     * @return RxJava {@code Single} for the boolean result (false if failed to write).
+     */
+    Single<Boolean> updateFavoriteMovies(@NonNull List<MovieData> addedMovies,
+            @NonNull List<MovieData> deletedMovies);
 }
@@ -52,6 +52,15 @@ public interface IMovieDbService {
     @NonNull
     Single<PagingEnvelope<MovieData>> getMovieNowPlaying(@Nullable PagingEnvelope<MovieData> previous);
 
+    /**
+     * Get a page of the list of now playing movies by page number.
+     *
+     * @param page the page number, starting from 1.
+     * @return RxJava {@code Single} for the page of movie list.
+     */
+    @NonNull
+    Single<PagingEnvelope<MovieData>> getMovieNowPlayingPage(int page);
+
     /**
      * Get extra details for a movie.
      *
@@ -16,6 +16,10 @@
 
 package com.github.brianspace.moviebrowser.repository.data;
 
+import android.support.annotation.NonNull;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+
 /**
  * Movie company.
  */
@@ -37,4 +41,25 @@ public class Company {
     public String getName() {
         return name;
     }
+
+    /**
+     * Read a field from TMDb JSON, for {@link MovieDbTypeAdapterFactory}.
+     *
+     * @param jsonName the JSON name of the field.
+     * @param reader the reader positioned at the value of the field.
+     * @return true if the field is known and the value was consumed, otherwise false.
+     */
+    /* default */ boolean readJsonField(@NonNull final String jsonName, @NonNull final JsonReader reader)
+            throws IOException {
+        switch (jsonName) {
+            case "id":
+                id = JsonReaders.nextInt(reader, id);
+                return true;
+            case "name":
+                name = JsonReaders.nextString(reader);
+                return true;
+            default:
+                return false;
+        }
+    }
 }
@@ -16,6 +16,9 @@
 
 package com.github.brianspace.moviebrowser.repository.data;
 
+import android.support.annotation.NonNull;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -95,6 +98,42 @@ public class Configuration {
         public final Iterable<String> getStillSizes() {
             return stillSizes;
         }
+
+        /**
+         * Read a field from TMDb JSON, for {@link MovieDbTypeAdapterFactory}.
+         *
+         * @param jsonName the JSON name of the field.
+         * @param reader the reader positioned at the value of the field.
+         * @return true if the field is known and the value was consumed, otherwise false.
+         */
+        /* default */ boolean readJsonField(@NonNull final String jsonName, @NonNull final JsonReader reader)
+                throws IOException {
+            switch (jsonName) {
+                case "base_url":
+                    baseUrl = JsonReaders.nextString(reader);
+                    return true;
+                case "secure_base_url":
+                    secureBaseUrl = JsonReaders.nextString(reader);
+                    return true;
+                case "backdrop_sizes":
+                    backdropSizes = JsonReaders.readStringList(reader);
+                    return true;
+                case "logo_sizes":
+                    logoSizes = JsonReaders.readStringList(reader);
+                    return true;
+                case "poster_sizes":
+                    posterSizes = JsonReaders.readStringList(reader);
+                    return true;
+                case "profile_sizes":
+                    profileSizes = JsonReaders.readStringList(reader);
+                    return true;
+                case "still_sizes":
+                    stillSizes = JsonReaders.readStringList(reader);
+                    return true;
+                default:
+                    return false;
+            }
+        }
     }
 
     /**
@@ -110,4 +149,25 @@ public class Configuration {
     public final Iterable<String> getChangeKeys() {
         return changeKeys;
     }
+
+    /**
+     * Read a field from TMDb JSON, for {@link MovieDbTypeAdapterFactory}.
+     *
+     * @param jsonName the JSON name of the field.
+     * @param reader the reader positioned at the value of the field.
+     * @return true if the field is known and the value was consumed, otherwise false.
+     */
+    /* default */ boolean readJsonField(@NonNull final String jsonName, @NonNull final JsonReader reader)
+            throws IOException {
+        switch (jsonName) {
+            case "images":
+                images = JsonReaders.readObject(reader, new ImageConfig(), ImageConfig::readJsonField);
+                return true;
+            case "change_keys":
+                changeKeys = JsonReaders.readStringList(reader);
+                return true;
+            default:
+                return false;
+        }
+    }
 }
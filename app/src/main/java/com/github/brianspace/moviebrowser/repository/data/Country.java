@@ -16,7 +16,10 @@
 
 package com.github.brianspace.moviebrowser.repository.data;
 
+import android.support.annotation.NonNull;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
 
 /**
  * Country.
@@ -43,4 +46,25 @@ public class Country {
     public String getName() {
         return name;
     }
+
+    /**
+     * Read a field from TMDb JSON, for {@link MovieDbTypeAdapterFactory}.
+     *
+     * @param jsonName the JSON name of the field.
+     * @param reader the reader positioned at the value of the field.
+     * @return true if the field is known and the value was consumed, otherwise false.
+     */
+    /* default */ boolean readJsonField(@NonNull final String jsonName, @NonNull final JsonReader reader)
+            throws IOException {
+        switch (jsonName) {
+            case "iso_3166_1":
+                shortName = JsonReaders.nextString(reader);
+                return true;
+            case "name":
+                name = JsonReaders.nextString(reader);
+                return true;
+            default:
+                return false;
+        }
+    }
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.moviebrowser.repository.data;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helpers for the hand-written streaming JSON adapters of the TMDb data classes.
+ * The null handling follows the reflective adapters of Gson: a JSON null leaves primitive fields unchanged and sets
+ * other fields to null.
+ */
+/* default */ final class JsonReaders {
+
+    // region Private Constants
+
+    /**
+     * Initial capacity of arrays read, enough for the genre IDs of most movies.
+     */
+    private static final int INITIAL_ARRAY_SIZE = 8;
+
+    // endregion
+
+    // region Package Private Types
+
+    /**
+     * Reader of a field of an object.
+     *
+     * @param <T> type of the object.
+     */
+    /* default */ interface FieldReader<T> {
+
+        /**
+         * Read the value of the field into the object.
+         *
+         * @param target the object to read into.
+         * @param name the JSON name of the field.
+         * @param reader the reader positioned at the value of the field.
+         * @return true if the field is known and the value was consumed, false if the value should be skipped.
+         */
+        boolean readField(@NonNull T target, @NonNull String name, @NonNull JsonReader reader) throws IOException;
+    }
+
+    /**
+     * Reader of a JSON value.
+     *
+     * @param <T> type of the value.
+     */
+    /* default */ interface ValueReader<T> {
+
+        /**
+         * Read the value at the current position of the reader.
+         */
+        @Nullable
+        T read(@NonNull JsonReader reader) throws IOException;
+    }
+
+    // endregion
+
+    // region Constructors
+
+    private JsonReaders() throws InstantiationException {
+        throw new InstantiationException("Utility class JsonReaders should not be instantiated!");
+    }
+
+    // endregion
+
+    // region Package Private Methods
+
+    /**
+     * Read a JSON object into the target object, skipping unknown fields.
+     *
+     * @return the target object, or null if the JSON value is null.
+     */
+    @Nullable
+    /* default */ static <T> T readObject(@NonNull final JsonReader reader, @NonNull final T target,
+            @NonNull final FieldReader<? super T> fieldReader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (!fieldReader.readField(target, name, reader)) {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return target;
+    }
+
+    /**
+     * Read a JSON array into a list.
+     *
+     * @return the list, or null if the JSON value is null.
+     */
+    @Nullable
+    /* default */ static <T> List<T> readList(@NonNull final JsonReader reader,
+            @NonNull final ValueReader<? extends T> valueReader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        final List<T> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(valueReader.read(reader));
+        }
+
+        reader.endArray();
+        return list;
+    }
+
+    /**
+     * Read a JSON array of numbers into an int array.
+     *
+     * @return the array, or null if the JSON value is null.
+     */
+    @Nullable
+    /* default */ static int[] readIntArray(@NonNull final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        int[] values = new int[INITIAL_ARRAY_SIZE];
+        int count = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count << 1);
+            }
+
+            values[count++] = reader.nextInt();
+        }
+
+        reader.endArray();
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Read a string, or null.
+     */
+    @Nullable
+    /* default */ static String nextString(@NonNull final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        return reader.nextString();
+    }
+
+    /**
+     * Read a list of strings, or null.
+     */
+    @Nullable
+    /* default */ static List<String> readStringList(@NonNull final JsonReader reader) throws IOException {
+        return readList(reader, JsonReaders::nextString);
+    }
+
+    /**
+     * Read an int, or return the current value if the JSON value is null.
+     */
+    /* default */ static int nextInt(@NonNull final JsonReader reader, final int current) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return current;
+        }
+
+        return reader.nextInt();
+    }
+
+    /**
+     * Read a long, or return the current value if the JSON value is null.
+     */
+    /* default */ static long nextLong(@NonNull final JsonReader reader, final long current) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return current;
+        }
+
+        return reader.nextLong();
+    }
+
+    /**
+     * Read a float, or return the current value if the JSON value is null.
+     */
+    /* default */ static float nextFloat(@NonNull final JsonReader reader, final float current) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return current;
+        }
+
+        return (float) reader.nextDouble();
+    }
+
+    /**
+     * Read a boolean, or return the current value if the JSON value is null.
+     */
+    /* default */ static boolean nextBoolean(@NonNull final JsonReader reader, final boolean current)
+            throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return current;
+        }
+
+        return reader.nextBoolean();
+    }
+
+    // endregion
+}
@@ -16,14 +16,22 @@
 
 package com.github.brianspace.moviebrowser.repository.data;
 
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import com.github.brianspace.common.objstore.IEntity;
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Movie data (without details).
  */
 @SuppressWarnings({"PMD.DataClass", "PMD.CommentRequired"})
 public class MovieData implements IEntity {
+    private static final Gson GSON = new Gson();
+
     private int id;
     private boolean adult;
     private String title;
@@ -138,6 +146,26 @@ public class MovieData implements IEntity {
         return voteCount;
     }
 
+    /**
+     * Create a movie with only the summary fields stored for a favorite, without going through JSON.
+     *
+     * @param id movie ID.
+     * @param title movie title.
+     * @param posterPath movie poster image path.
+     * @param voteAverage average vote score of the movie.
+     * @return a new instance of MovieData.
+     */
+    @NonNull
+    public static MovieData createSummary(final int id, @Nullable final String title,
+            @Nullable final String posterPath, final float voteAverage) {
+        final MovieData movie = new MovieData();
+        movie.id = id;
+        movie.title = title;
+        movie.posterPath = posterPath;
+        movie.voteAverage = voteAverage;
+        return movie;
+    }
+
     /**
      * Check if the data is valid for our application: has an positive ID, both the title and poster path are not null.
      * @return true if it is valid, otherwise false.
@@ -151,6 +179,125 @@ public class MovieData implements IEntity {
      */
     @Override
     public String toString() {
-        return new Gson().toJson(this);
+        return GSON.toJson(this);
+    }
+
+    /**
+     * Write the fields for {@link MovieDataCodec}, in the order of {@link #readFields(ByteBuffer)}.
+     */
+    /* default */ void writeFields(@NonNull final DataOutput output) throws IOException {
+        output.writeInt(id);
+        output.writeBoolean(adult);
+        MovieDataCodec.writeString(output, title);
+        MovieDataCodec.writeString(output, originalTitle);
+        MovieDataCodec.writeString(output, originalLanguage);
+        MovieDataCodec.writeString(output, overview);
+        MovieDataCodec.writeString(output, releaseDate);
+        MovieDataCodec.writeString(output, posterPath);
+        MovieDataCodec.writeString(output, backdropPath);
+        MovieDataCodec.writeIntArray(output, genreIds);
+        output.writeBoolean(video);
+        output.writeFloat(popularity);
+        output.writeFloat(voteAverage);
+        output.writeInt(voteCount);
+    }
+
+    /**
+     * Read the fields written by {@link #writeFields(DataOutput)}.
+     */
+    /* default */ void readFields(@NonNull final ByteBuffer input) {
+        id = input.getInt();
+        adult = input.get() != 0;
+        title = MovieDataCodec.readString(input);
+        originalTitle = MovieDataCodec.readString(input);
+        originalLanguage = MovieDataCodec.readString(input);
+        overview = MovieDataCodec.readString(input);
+        releaseDate = MovieDataCodec.readString(input);
+        posterPath = MovieDataCodec.readString(input);
+        backdropPath = MovieDataCodec.readString(input);
+        genreIds = MovieDataCodec.readIntArray(input);
+        video = input.get() != 0;
+        popularity = input.getFloat();
+        voteAverage = input.getFloat();
+        voteCount = input.getInt();
+    }
+
+    /**
+     * Reset the fields to their defaults, so that {@link MovieDbTypeAdapterFactory} can reuse the object to decode
+     * the next item after an invalid one.
+     */
+    /* default */ void clearFields() {
+        id = 0;
+        adult = false;
+        title = null;
+        originalTitle = null;
+        originalLanguage = null;
+        overview = null;
+        releaseDate = null;
+        posterPath = null;
+        backdropPath = null;
+        genreIds = null;
+        video = false;
+        popularity = 0;
+        voteAverage = 0;
+        voteCount = 0;
+    }
+
+    /**
+     * Read a field from TMDb JSON, for {@link MovieDbTypeAdapterFactory}.
+     *
+     * @param jsonName the JSON name of the field.
+     * @param reader the reader positioned at the value of the field.
+     * @return true if the field is known and the value was consumed, otherwise false.
+     */
+    @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NcssCount"})
+    /* default */ boolean readJsonField(@NonNull final String jsonName, @NonNull final JsonReader reader)
+            throws IOException {
+        switch (jsonName) {
+            case "id":
+                id = JsonReaders.nextInt(reader, id);
+                return true;
+            case "adult":
+                adult = JsonReaders.nextBoolean(reader, adult);
+                return true;
+            case "title":
+                title = JsonReaders.nextString(reader);
+                return true;
+            case "original_title":
+                originalTitle = JsonReaders.nextString(reader);
+                return true;
+            case "original_language":
+                originalLanguage = JsonReaders.nextString(reader);
+                return true;
+            case "overview":
+                overview = JsonReaders.nextString(reader);
+                return true;
+            case "release_date":
+                releaseDate = JsonReaders.nextString(reader);
+                return true;
+            case "poster_path":
+                posterPath = JsonReaders.nextString(reader);
+                return true;
+            case "backdrop_path":
+                backdropPath = JsonReaders.nextString(reader);
+                return true;
+            case "genre_ids":
+                genreIds = JsonReaders.readIntArray(reader);
+                return true;
+            case "video":
+                video = JsonReaders.nextBoolean(reader, video);
+                return true;
+            case "popularity":
+                popularity = JsonReaders.nextFloat(reader, popularity);
+                return true;
+            case "vote_average":
+                voteAverage = JsonReaders.nextFloat(reader, voteAverage);
+                return true;
+            case "vote_count":
+                voteCount = JsonReaders.nextInt(reader, voteCount);
+                return true;
+            default:
+                return false;
+        }
     }
 }
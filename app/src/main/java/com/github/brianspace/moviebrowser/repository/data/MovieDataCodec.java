@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.moviebrowser.repository.data;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Compact binary encoding of {@link MovieData}, for storage.
+ * The data starts with a format version byte, followed by the fields in a fixed order. Numbers are big-endian,
+ * strings and arrays are prefixed by their length, with -1 for null.
+ */
+public final class MovieDataCodec {
+
+    // region Private Constants
+
+    /**
+     * Current format version.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * Length written for null strings and arrays.
+     */
+    private static final int NULL_LENGTH = -1;
+
+    /**
+     * Encoding of the strings.
+     */
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Initial buffer size for encoding, enough for most movies.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    /**
+     * Size of an encoded int.
+     */
+    private static final int INT_SIZE = 4;
+
+    // endregion
+
+    // region Constructors
+
+    private MovieDataCodec() throws InstantiationException {
+        throw new InstantiationException("Utility class MovieDataCodec should not be instantiated!");
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Encode the movie data.
+     *
+     * @param movie the movie data.
+     * @return the encoded bytes.
+     */
+    @NonNull
+    public static byte[] encode(@NonNull final MovieData movie) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        final DataOutputStream output = new DataOutputStream(buffer);
+        try {
+            output.writeByte(VERSION);
+            movie.writeFields(output);
+            output.flush();
+        } catch (final IOException e) {
+            // Not thrown by ByteArrayOutputStream.
+            throw new IllegalStateException(e);
+        }
+
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Decode the movie data.
+     *
+     * @param data bytes returned by {@link #encode(MovieData)}.
+     * @return a new instance of MovieData.
+     * @throws IllegalArgumentException if the data is of an unknown version or truncated.
+     */
+    @NonNull
+    public static MovieData decode(@NonNull final byte[] data) {
+        final ByteBuffer input = ByteBuffer.wrap(data);
+        try {
+            final byte version = input.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unknown movie data version: " + version);
+            }
+
+            final MovieData movie = new MovieData();
+            movie.readFields(input);
+            return movie;
+        } catch (final RuntimeException e) {
+            if (e instanceof IllegalArgumentException) {
+                throw e;
+            }
+
+            throw new IllegalArgumentException("Invalid movie data.", e);
+        }
+    }
+
+    // endregion
+
+    // region Package Private Methods
+
+    /* default */ static void writeString(@NonNull final DataOutput output, @Nullable final String value)
+            throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+
+        final byte[] bytes = value.getBytes(UTF8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    @Nullable
+    /* default */ static String readString(@NonNull final ByteBuffer input) {
+        final int length = input.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        checkLength(input, length, 1);
+        final String value = new String(input.array(), input.arrayOffset() + input.position(), length, UTF8);
+        input.position(input.position() + length);
+        return value;
+    }
+
+    /* default */ static void writeIntArray(@NonNull final DataOutput output, @Nullable final int[] values)
+            throws IOException {
+        if (values == null) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+
+        output.writeInt(values.length);
+        for (final int value : values) {
+            output.writeInt(value);
+        }
+    }
+
+    @Nullable
+    /* default */ static int[] readIntArray(@NonNull final ByteBuffer input) {
+        final int length = input.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        checkLength(input, length, INT_SIZE);
+        final int[] values = new int[length];
+        for (int i = 0; i < length; ++i) {
+            values[i] = input.getInt();
+        }
+
+        return values;
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private static void checkLength(@NonNull final ByteBuffer input, final int length, final int itemSize) {
+        if (length < 0 || length > input.remaining() / itemSize) {
+            throw new IllegalArgumentException("Invalid length: " + length);
+        }
+    }
+
+    // endregion
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.moviebrowser.repository.data;
+
+import android.support.annotation.NonNull;
+import com.github.brianspace.moviebrowser.repository.data.JsonReaders.ValueReader;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Factory of the streaming JSON adapters for the TMDb data classes.
+ * The adapters read the fields by their TMDb JSON names directly, without reflecting over the fields of each object,
+ * which is the hot path when decoding the pages of movies. The invalid movies in a page are skipped while decoding,
+ * and counted in {@link PagingEnvelope#getSkippedResults()}. Writing is delegated to the next adapter of the
+ * {@link Gson} instance.
+ */
+public final class MovieDbTypeAdapterFactory implements TypeAdapterFactory {
+
+    // region Private Inner Types
+
+    /**
+     * Adapter reading with a {@link ValueReader}, and writing with the delegate adapter.
+     *
+     * @param <T> type of the value.
+     */
+    private static class StreamingTypeAdapter<T> extends TypeAdapter<T> {
+
+        /**
+         * The reader of the value.
+         */
+        private final ValueReader<T> valueReader;
+
+        /**
+         * The adapter to write the value.
+         */
+        private final TypeAdapter<T> delegate;
+
+        /**
+         * Constructor.
+         */
+        /* default */ StreamingTypeAdapter(@NonNull final ValueReader<T> valueReader,
+                @NonNull final TypeAdapter<T> delegate) {
+            super();
+            this.valueReader = valueReader;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public T read(final JsonReader reader) throws IOException {
+            return valueReader.read(reader);
+        }
+
+        @Override
+        public void write(final JsonWriter writer, final T value) throws IOException {
+            delegate.write(writer, value);
+        }
+    }
+
+    /**
+     * Factory of the reader for the result items of a page, a new reader is created for each page.
+     *
+     * @param <R> type of the result items.
+     */
+    private interface ResultReaderFactory<R> {
+
+        /**
+         * Create the reader.
+         */
+        @NonNull
+        ValueReader<R> create();
+    }
+
+    /**
+     * Reader of the movies in a page, which skips the invalid movies (see {@link MovieData#isValid()}) while
+     * decoding. The object of a skipped movie is reused to decode the next one, so no object is left for it.
+     */
+    private static final class ValidMovieReader implements ValueReader<MovieData> {
+
+        /**
+         * The object of the last skipped movie, to be reused.
+         */
+        private MovieData reusable;
+
+        @Override
+        public MovieData read(@NonNull final JsonReader reader) throws IOException {
+            final MovieData movie = reusable == null ? new MovieData() : reusable;
+            if (JsonReaders.readObject(reader, movie, MovieData::readJsonField) == null) {
+                return null;
+            }
+
+            if (movie.isValid()) {
+                reusable = null;
+                return movie;
+            }
+
+            movie.clearFields();
+            reusable = movie;
+            return null;
+        }
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        final Class<? super T> rawType = type.getRawType();
+        final ValueReader<?> valueReader;
+        if (rawType == MovieData.class) {
+            valueReader = reader -> JsonReaders.readObject(reader, new MovieData(), MovieData::readJsonField);
+        } else if (rawType == MovieDetailsData.class) {
+            valueReader = reader ->
+                    JsonReaders.readObject(reader, new MovieDetailsData(), MovieDetailsData::readJsonField);
+        } else if (rawType == Configuration.class) {
+            valueReader = reader -> JsonReaders.readObject(reader, new Configuration(), Configuration::readJsonField);
+        } else if (rawType == PagingEnvelope.class && type.getType() instanceof ParameterizedType) {
+            final Type resultType = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+            valueReader = resultType == MovieData.class
+                    ? createPagingEnvelopeReader(ValidMovieReader::new, true)
+                    : createPagingEnvelopeReader(createResultReaderFactory(gson.getAdapter(TypeToken.get(resultType))),
+                            false);
+        } else {
+            return null;
+        }
+
+        return new StreamingTypeAdapter<>((ValueReader<T>) valueReader, gson.getDelegateAdapter(this, type));
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    @NonNull
+    private static <R> ResultReaderFactory<R> createResultReaderFactory(@NonNull final TypeAdapter<R> resultAdapter) {
+        return () -> resultAdapter::read;
+    }
+
+    /**
+     * Create the reader of a page.
+     *
+     * @param resultReaderFactory factory of the reader for the result items.
+     * @param skipNulls true to skip and count the null items returned by the result reader, false to keep them.
+     */
+    @NonNull
+    private static <R> ValueReader<PagingEnvelope<R>> createPagingEnvelopeReader(
+            @NonNull final ResultReaderFactory<R> resultReaderFactory, final boolean skipNulls) {
+        return reader -> {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            int totalPages = 0;
+            int totalResults = 0;
+            int page = 0;
+            List<R> results = null;
+            int skippedResults = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "total_pages":
+                        totalPages = JsonReaders.nextInt(reader, totalPages);
+                        break;
+                    case "total_results":
+                        totalResults = JsonReaders.nextInt(reader, totalResults);
+                        break;
+                    case "page":
+                        page = JsonReaders.nextInt(reader, page);
+                        break;
+                    case "results":
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.nextNull();
+                            results = null;
+                        } else {
+                            results = new ArrayList<>();
+                            skippedResults = readResults(reader, resultReaderFactory.create(), skipNulls, results);
+                        }
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+
+            reader.endObject();
+            return new PagingEnvelope<>(totalPages, totalResults, page, results, skippedResults);
+        };
+    }
+
+    /**
+     * Read the result items into the list.
+     *
+     * @return the number of items skipped.
+     */
+    private static <R> int readResults(@NonNull final JsonReader reader, @NonNull final ValueReader<R> resultReader,
+            final boolean skipNulls, @NonNull final List<R> results) throws IOException {
+        int skipped = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            final R result = resultReader.read(reader);
+            if (result == null && skipNulls) {
+                ++skipped;
+            } else {
+                results.add(result);
+            }
+        }
+
+        reader.endArray();
+        return skipped;
+    }
+
+    // endregion
+}
@@ -16,6 +16,9 @@
 
 package com.github.brianspace.moviebrowser.repository.data;
 
+import android.support.annotation.NonNull;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -119,4 +122,61 @@ public class MovieDetailsData extends MovieData {
     public String getTagline() {
         return tagline;
     }
+
+    /**
+     * Read a field from TMDb JSON, for {@link MovieDbTypeAdapterFactory}.
+     *
+     * @param jsonName the JSON name of the field.
+     * @param reader the reader positioned at the value of the field.
+     * @return true if the field is known and the value was consumed, otherwise false.
+     */
+    @Override
+    @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NcssCount"})
+    /* default */ boolean readJsonField(@NonNull final String jsonName, @NonNull final JsonReader reader)
+            throws IOException {
+        switch (jsonName) {
+            case "belongs_to_collection":
+                belongsToCollection = JsonReaders.readObject(reader, new Collection(), Collection::readJsonField);
+                return true;
+            case "budget":
+                budget = JsonReaders.nextLong(reader, budget);
+                return true;
+            case "genres":
+                genres = JsonReaders.readList(reader,
+                        elementReader -> JsonReaders.readObject(elementReader, new Genre(), Genre::readJsonField));
+                return true;
+            case "homepage":
+                homepage = JsonReaders.nextString(reader);
+                return true;
+            case "imdb_id":
+                imdbId = JsonReaders.nextString(reader);
+                return true;
+            case "production_companies":
+                productionCompanies = JsonReaders.readList(reader,
+                        elementReader -> JsonReaders.readObject(elementReader, new Company(), Company::readJsonField));
+                return true;
+            case "production_countries":
+                productionCountries = JsonReaders.readList(reader,
+                        elementReader -> JsonReaders.readObject(elementReader, new Country(), Country::readJsonField));
+                return true;
+            case "revenue":
+                revenue = JsonReaders.nextLong(reader, revenue);
+                return true;
+            case "runtime":
+                runtime = JsonReaders.nextLong(reader, runtime);
+                return true;
+            case "spoken_languages":
+                spokenLanguages = JsonReaders.readList(reader, elementReader ->
+                        JsonReaders.readObject(elementReader, new Language(), Language::readJsonField));
+                return true;
+            case "status":
+                status = JsonReaders.nextString(reader);
+                return true;
+            case "tagline":
+                tagline = JsonReaders.nextString(reader);
+                return true;
+            default:
+                return super.readJsonField(jsonName, reader);
+        }
+    }
 }
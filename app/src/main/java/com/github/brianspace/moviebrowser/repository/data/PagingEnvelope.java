@@ -28,6 +28,7 @@ public class PagingEnvelope<T> {
     private final int totalResults;
     private final int page;
     private final List<T> results;
+    private final transient int skippedResults;
 
     /**
      * Get the total number of pages.
@@ -57,6 +58,14 @@ public class PagingEnvelope<T> {
         return results;
     }
 
+    /**
+     * Get the number of invalid result items skipped when decoding the page, which are not in the results.
+     * Only the invalid movies in a page of movies are skipped, the items of other pages are kept even if null.
+     */
+    public int getSkippedResults() {
+        return skippedResults;
+    }
+
     /**
      * Constructor.
      * @param totalPages total number of pages.
@@ -65,9 +74,23 @@ public class PagingEnvelope<T> {
      * @param results result list.
      */
     public PagingEnvelope(final int totalPages, final int totalResults, final int page, final List<T> results) {
+        this(totalPages, totalResults, page, results, 0);
+    }
+
+    /**
+     * Constructor for a page with invalid result items skipped.
+     * @param totalPages total number of pages.
+     * @param totalResults total number of results.
+     * @param page the current page number.
+     * @param results result list.
+     * @param skippedResults number of invalid result items skipped.
+     */
+    public PagingEnvelope(final int totalPages, final int totalResults, final int page, final List<T> results,
+            final int skippedResults) {
         this.totalPages = totalPages;
         this.totalResults = totalResults;
         this.page = page;
         this.results = results;
+        this.skippedResults = skippedResults;
     }
 }
@@ -26,11 +26,14 @@ import com.github.brianspace.moviebrowser.repository.data.MovieData;
 import com.github.brianspace.moviebrowser.repository.local.database.Favorite;
 import com.github.brianspace.moviebrowser.repository.local.database.FavoriteDao;
 import com.github.brianspace.moviebrowser.repository.local.database.FavoriteDatabase;
+import com.github.brianspace.moviebrowser.repository.local.database.FavoriteSummary;
+import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.schedulers.Schedulers;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -44,9 +47,45 @@ class FavoriteStore implements IFavoriteStore {
     // region Private Constants
 
     /**
-     * Suffix of database journal file.
+     * Suffixes of the database files besides the main one: rollback journal, write-ahead log and its shared memory
+     * index.
      */
-    private static final String DATABASE_JOURNAL_SUFFIX = "-journal";
+    private static final String[] DATABASE_FILE_SUFFIXES = {"-journal", "-wal", "-shm"};
+
+    /**
+     * Maximum number of IDs deleted by one statement, within the SQLite limit of 999 variables.
+     */
+    private static final int MAX_DELETE_IDS = 500;
+
+    // endregion
+
+    // region Private Inner Types
+
+    /**
+     * Position of the favorite pages read so far.
+     */
+    private static final class PageCursor {
+
+        /**
+         * Whether any page is read.
+         */
+        /* default */ boolean isStarted;
+
+        /**
+         * Whether the last page is read.
+         */
+        /* default */ boolean isFinished;
+
+        /**
+         * Create time of the last record read.
+         */
+        /* default */ long lastCreateTime;
+
+        /**
+         * Movie ID of the last record read.
+         */
+        /* default */ int lastId;
+    }
 
     // endregion
 
@@ -62,6 +101,12 @@ class FavoriteStore implements IFavoriteStore {
      */
     private FavoriteDatabase favoriteDatabase;
 
+    /**
+     * Queue to write the favorite changes together.
+     */
+    private final FavoriteWriteQueue writeQueue =
+            new FavoriteWriteQueue(this::writeFavorites, Schedulers.io(), Constants.FAVORITE_WRITE_DELAY_MS);
+
     // endregion
 
     // region Constructors
@@ -85,6 +130,8 @@ class FavoriteStore implements IFavoriteStore {
     public boolean clearData() {
         boolean result = true;
 
+        // Waits for the write in progress, so that the database is not closed under it.
+        writeQueue.discard();
         favoriteDatabase.close();
 
         final File databaseFile = appContext.getDatabasePath(Constants.DATABASE_NAME);
@@ -92,9 +139,11 @@ class FavoriteStore implements IFavoriteStore {
             result = databaseFile.delete();
         }
 
-        final File databaseJournalFile = appContext.getDatabasePath(Constants.DATABASE_NAME + DATABASE_JOURNAL_SUFFIX);
-        if (databaseJournalFile.exists()) {
-            result = result && databaseJournalFile.delete();
+        for (final String suffix : DATABASE_FILE_SUFFIXES) {
+            final File file = appContext.getDatabasePath(Constants.DATABASE_NAME + suffix);
+            if (file.exists()) {
+                result = file.delete() && result;
+            }
         }
 
         buildFavoriteDatabase();
@@ -104,16 +153,13 @@ class FavoriteStore implements IFavoriteStore {
 
     @Override
     public Single<Boolean> addFavoriteMovie(@NonNull final MovieData movie) {
-        return Single.fromCallable(() -> {
-            final FavoriteDao dao = favoriteDatabase.getDao();
-            return dao.insertFavorite(new Favorite(movie)) > 0;
-        });
+        return Single.defer(() -> writeQueue.add(movie));
     }
 
     @Override
     public Maybe<MovieData> getFavoriteMovie(final long favoriteId) {
         final FavoriteDao dao = favoriteDatabase.getDao();
-        return dao.findFavoriteById(favoriteId).map(Favorite::toMovie);
+        return dao.findFavoriteById(favoriteId).map(Favorite::toMovie).subscribeOn(Schedulers.io());
     }
 
     @Override
@@ -130,11 +176,47 @@ class FavoriteStore implements IFavoriteStore {
     }
 
     @Override
-    public Single<Boolean> deleteFavoriteMovie(@NonNull final MovieData movie) {
-        return Single.fromCallable(() -> {
+    public Flowable<List<MovieData>> getFavoriteMoviePages(final int pageSize) {
+        return Flowable.<List<MovieData>, PageCursor>generate(PageCursor::new, (cursor, emitter) -> {
+            if (cursor.isFinished) {
+                emitter.onComplete();
+                return;
+            }
+
             final FavoriteDao dao = favoriteDatabase.getDao();
-            return dao.deleteFavorite(movie.getId()) == 1;
-        });
+            final FavoriteSummary[] favorites = cursor.isStarted
+                    ? dao.loadFavoriteSummariesAfter(cursor.lastCreateTime, cursor.lastId, pageSize)
+                    : dao.loadFirstFavoriteSummaries(pageSize);
+            if (favorites.length == 0) {
+                emitter.onComplete();
+                return;
+            }
+
+            // Only the summary columns are read, the full data is loaded by getFavoriteMovie() when needed.
+            final List<MovieData> movies = new ArrayList<>(favorites.length);
+            for (final FavoriteSummary favorite : favorites) {
+                movies.add(favorite.toMovie());
+            }
+
+            final FavoriteSummary last = favorites[favorites.length - 1];
+            cursor.isStarted = true;
+            cursor.isFinished = favorites.length < pageSize;
+            cursor.lastCreateTime = last.createTime;
+            cursor.lastId = last.id;
+            emitter.onNext(movies);
+        }).subscribeOn(Schedulers.io());
+    }
+
+    @Override
+    public Single<Boolean> deleteFavoriteMovie(@NonNull final MovieData movie) {
+        return Single.defer(() -> writeQueue.delete(movie));
+    }
+
+    @Override
+    public Single<Boolean> updateFavoriteMovies(@NonNull final List<MovieData> addedMovies,
+            @NonNull final List<MovieData> deletedMovies) {
+        // Written with the queued changes, so that an older change is not written after these.
+        return Single.defer(() -> writeQueue.update(addedMovies, deletedMovies)).subscribeOn(Schedulers.io());
     }
 
     // endregion
@@ -142,7 +224,32 @@ class FavoriteStore implements IFavoriteStore {
     // region Private Methods
 
     private void buildFavoriteDatabase() {
-        favoriteDatabase = Room.databaseBuilder(appContext, FavoriteDatabase.class, Constants.DATABASE_NAME).build();
+        favoriteDatabase = Room.databaseBuilder(appContext, FavoriteDatabase.class, Constants.DATABASE_NAME)
+                .addMigrations(FavoriteDatabase.MIGRATION_1_2, FavoriteDatabase.MIGRATION_2_3)
+                .openHelperFactory(FavoriteDatabase.WRITE_AHEAD_LOGGING_FACTORY)
+                .build();
+    }
+
+    /**
+     * Write the favorite changes in one transaction.
+     */
+    private void writeFavorites(@NonNull final List<MovieData> addedMovies, @NonNull final int[] deletedIds) {
+        final List<Favorite> favorites = new ArrayList<>(addedMovies.size());
+        for (final MovieData movie : addedMovies) {
+            favorites.add(new Favorite(movie));
+        }
+
+        final FavoriteDao dao = favoriteDatabase.getDao();
+        favoriteDatabase.runInTransaction(() -> {
+            for (int start = 0; start < deletedIds.length; start += MAX_DELETE_IDS) {
+                dao.deleteFavorites(Arrays.copyOfRange(deletedIds, start,
+                        Math.min(start + MAX_DELETE_IDS, deletedIds.length)));
+            }
+
+            if (!favorites.isEmpty()) {
+                dao.insertFavorites(favorites);
+            }
+        });
     }
 
     // endregion
@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.moviebrowser.repository.local;
+
+import android.support.annotation.NonNull;
+import com.github.brianspace.moviebrowser.repository.data.MovieData;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.subjects.SingleSubject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for the favorite changes.
+ * The changes made within a short delay are written together in one transaction, and for each movie only the last
+ * change is written. A change replaced by a later change of the same movie is never written, and its result is false
+ * as soon as it is replaced.
+ */
+class FavoriteWriteQueue {
+
+    // region Private Fields
+
+    /**
+     * Writer of the changes.
+     */
+    private final Writer writer;
+
+    /**
+     * Scheduler to run the writer.
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * Delay in milliseconds from the first queued change to the write.
+     */
+    private final long delayMs;
+
+    /**
+     * The last pending change of each movie ID, guarded by this.
+     */
+    private Map<Integer, PendingChange> pendingChanges = new LinkedHashMap<>();
+
+    /**
+     * The scheduled write of the pending changes, guarded by this.
+     */
+    private Disposable scheduledFlush;
+
+    /**
+     * Lock held while taking and writing the changes, so that they are written in the order they are taken.
+     */
+    private final Object writeLock = new Object();
+
+    // endregion
+
+    // region Package Private Types
+
+    /**
+     * Writer of the favorite changes.
+     */
+    /* default */ interface Writer {
+
+        /**
+         * Write the changes in one transaction.
+         *
+         * @param addedMovies the movies to add.
+         * @param deletedIds IDs of the movies to delete.
+         */
+        void write(@NonNull List<MovieData> addedMovies, @NonNull int[] deletedIds);
+    }
+
+    // endregion
+
+    // region Private Types
+
+    /**
+     * A pending change of a movie.
+     */
+    private static final class PendingChange {
+
+        /**
+         * The movie.
+         */
+        /* default */ final MovieData movie;
+
+        /**
+         * True to add the movie, false to delete.
+         */
+        /* default */ final boolean isAdd;
+
+        /**
+         * Result of the change, may be shared by the changes written together by
+         * {@link FavoriteWriteQueue#update(List, List)}.
+         */
+        /* default */ final SingleSubject<Boolean> result;
+
+        /* default */ PendingChange(@NonNull final MovieData movie, final boolean isAdd,
+                @NonNull final SingleSubject<Boolean> result) {
+            this.movie = movie;
+            this.isAdd = isAdd;
+            this.result = result;
+        }
+    }
+
+    // endregion
+
+    // region Constructors
+
+    /**
+     * Create a new queue.
+     *
+     * @param writer writer of the changes.
+     * @param scheduler scheduler to run the writer.
+     * @param delayMs delay in milliseconds from the first queued change to the write.
+     */
+    /* default */ FavoriteWriteQueue(@NonNull final Writer writer, @NonNull final Scheduler scheduler,
+            final long delayMs) {
+        this.writer = writer;
+        this.scheduler = scheduler;
+        this.delayMs = delayMs;
+    }
+
+    // endregion
+
+    // region Package Private Methods
+
+    /**
+     * Queue adding a favorite movie.
+     *
+     * @param movie the movie to add.
+     * @return RxJava {@code Single} for the result, true when the change is written, false when it is replaced by a
+     *     later change of the same movie or discarded.
+     */
+    /* default */ Single<Boolean> add(@NonNull final MovieData movie) {
+        return queue(new PendingChange(movie, true, SingleSubject.<Boolean>create()));
+    }
+
+    /**
+     * Queue deleting a favorite movie.
+     *
+     * @param movie the movie to delete.
+     * @return RxJava {@code Single} for the result, true when the change is written, false when it is replaced by a
+     *     later change of the same movie or discarded.
+     */
+    /* default */ Single<Boolean> delete(@NonNull final MovieData movie) {
+        return queue(new PendingChange(movie, false, SingleSubject.<Boolean>create()));
+    }
+
+    /**
+     * Write the pending changes together with the given changes at once, in one transaction on the calling thread.
+     * The given changes replace the pending changes of the same movies.
+     *
+     * @param addedMovies the movies to add.
+     * @param deletedMovies the movies to delete.
+     * @return RxJava {@code Single} for the result, true when the changes are written.
+     */
+    /* default */ Single<Boolean> update(@NonNull final List<MovieData> addedMovies,
+            @NonNull final List<MovieData> deletedMovies) {
+        final SingleSubject<Boolean> result = SingleSubject.create();
+        synchronized (writeLock) {
+            final Map<Integer, PendingChange> changes;
+            synchronized (this) {
+                // The scheduled write is kept for the changes queued later.
+                changes = pendingChanges;
+                pendingChanges = new LinkedHashMap<>();
+            }
+
+            // Deleted before added, the same as in one transaction of the writer.
+            final List<PendingChange> replaced = new ArrayList<>();
+            for (final MovieData movie : deletedMovies) {
+                putChange(changes, new PendingChange(movie, false, result), replaced);
+            }
+
+            for (final MovieData movie : addedMovies) {
+                putChange(changes, new PendingChange(movie, true, result), replaced);
+            }
+
+            for (final PendingChange change : replaced) {
+                change.result.onSuccess(false);
+            }
+
+            if (changes.isEmpty()) {
+                result.onSuccess(true);
+            } else {
+                write(changes);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Drop the pending changes, their results will be false.
+     * Returns after the write in progress if any, so that the writer can be closed afterwards.
+     */
+    /* default */ void discard() {
+        final Map<Integer, PendingChange> changes;
+        synchronized (writeLock) {
+            synchronized (this) {
+                changes = pendingChanges;
+                pendingChanges = new LinkedHashMap<>();
+                if (scheduledFlush != null) {
+                    scheduledFlush.dispose();
+                    scheduledFlush = null;
+                }
+            }
+        }
+
+        for (final PendingChange change : changes.values()) {
+            change.result.onSuccess(false);
+        }
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private Single<Boolean> queue(@NonNull final PendingChange change) {
+        final PendingChange replaced;
+        synchronized (this) {
+            if (scheduledFlush == null) {
+                scheduledFlush = scheduler.scheduleDirect(this::flush, delayMs, TimeUnit.MILLISECONDS);
+            }
+
+            replaced = pendingChanges.put(change.movie.getId(), change);
+        }
+
+        // Notify outside of the lock, the subscribers may queue more changes.
+        if (replaced != null) {
+            replaced.result.onSuccess(false);
+        }
+
+        return change.result;
+    }
+
+    private void flush() {
+        synchronized (writeLock) {
+            final Map<Integer, PendingChange> changes;
+            synchronized (this) {
+                changes = pendingChanges;
+                pendingChanges = new LinkedHashMap<>();
+                scheduledFlush = null;
+            }
+
+            if (!changes.isEmpty()) {
+                write(changes);
+            }
+        }
+    }
+
+    /**
+     * Put a change replacing the one of the same movie, which is added to {@code replaced} unless they share the
+     * result.
+     */
+    private static void putChange(@NonNull final Map<Integer, PendingChange> changes,
+            @NonNull final PendingChange change, @NonNull final List<PendingChange> replaced) {
+        final PendingChange previous = changes.put(change.movie.getId(), change);
+        if (previous != null && previous.result != change.result) {
+            replaced.add(previous);
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException") // Report any error to the subscribers.
+    private void write(@NonNull final Map<Integer, PendingChange> changes) {
+        // Each result is notified once, even if shared by several changes.
+        final Set<SingleSubject<Boolean>> results = new LinkedHashSet<>();
+        final List<MovieData> addedMovies = new ArrayList<>(changes.size());
+        final int[] deletedIds = new int[changes.size()];
+        int deletedCount = 0;
+        for (final PendingChange change : changes.values()) {
+            results.add(change.result);
+            if (change.isAdd) {
+                addedMovies.add(change.movie);
+            } else {
+                deletedIds[deletedCount++] = change.movie.getId();
+            }
+        }
+
+        try {
+            writer.write(addedMovies, Arrays.copyOf(deletedIds, deletedCount));
+        } catch (final RuntimeException e) {
+            for (final SingleSubject<Boolean> result : results) {
+                result.onError(e);
+            }
+
+            return;
+        }
+
+        for (final SingleSubject<Boolean> result : results) {
+            result.onSuccess(true);
+        }
+    }
+
+    // endregion
+}
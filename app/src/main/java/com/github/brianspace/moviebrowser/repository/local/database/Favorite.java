@@ -18,13 +18,16 @@ package com.github.brianspace.moviebrowser.repository.local.database;
 
 import android.arch.persistence.room.ColumnInfo;
 import android.arch.persistence.room.Entity;
-import android.arch.persistence.room.Ignore;
 import android.arch.persistence.room.Index;
 import android.arch.persistence.room.PrimaryKey;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import com.github.brianspace.moviebrowser.repository.data.MovieData;
+import com.github.brianspace.moviebrowser.repository.data.MovieDataCodec;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 /**
  * ROOM Entity class for the database table to store favorite movies.
@@ -32,13 +35,12 @@ import com.google.gson.GsonBuilder;
 @Entity(indices = {@Index("id"), @Index("create_time")})
 public class Favorite {
 
-    // region Private Fields
+    // region Package Private Constants
 
     /**
-     * Gson instance for handling JSON strings.
+     * Gson instance for handling the JSON strings stored before database version 3.
      */
-    @Ignore
-    private final Gson gson = new GsonBuilder()
+    private static final Gson GSON = new GsonBuilder()
             .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
             .create();
 
@@ -69,9 +71,15 @@ public class Favorite {
     public String poster;
 
     /**
-     * JSON string of the original movie data.
+     * Average vote score of the movie.
      */
-    /* default */ String json;
+    @ColumnInfo(name = "vote_average")
+    public float voteAverage;
+
+    /**
+     * The original movie data, encoded by {@link MovieDataCodec}.
+     */
+    /* default */ byte[] data;
 
     // endregion
 
@@ -94,7 +102,8 @@ public class Favorite {
         this.createTime = System.currentTimeMillis();
         this.title = movie.getTitle();
         this.poster = movie.getPosterPath();
-        this.json = gson.toJson(movie);
+        this.voteAverage = movie.getVoteAverage();
+        this.data = MovieDataCodec.encode(movie);
     }
 
     // endregion
@@ -103,11 +112,44 @@ public class Favorite {
 
     /**
      * Create a new instance of MovieData from this object.
+     * If there is no stored data, only the summary fields are set.
      *
      * @return a new instance of MovieData.
      */
+    @NonNull
     public MovieData toMovie() {
-        return gson.fromJson(json, MovieData.class);
+        final MovieData movie = decodeMovie(data);
+        return movie == null ? MovieData.createSummary(id, title, poster, voteAverage) : movie;
+    }
+
+    /**
+     * Create a new instance of MovieData from the data stored in the table.
+     *
+     * @param data the encoded movie data.
+     * @return a new instance of MovieData, or null if the data is null.
+     */
+    @Nullable
+    public static MovieData decodeMovie(@Nullable final byte[] data) {
+        return data == null ? null : MovieDataCodec.decode(data);
+    }
+
+    // endregion
+
+    // region Package Private Methods
+
+    /**
+     * Create a new instance of MovieData from the JSON string stored before database version 3.
+     *
+     * @param json JSON string of the movie data.
+     * @return a new instance of MovieData, or null if the JSON string is null or invalid.
+     */
+    @Nullable
+    /* default */ static MovieData parseJson(@Nullable final String json) {
+        try {
+            return GSON.fromJson(json, MovieData.class);
+        } catch (final JsonParseException e) {
+            return null;
+        }
     }
 
     // endregion
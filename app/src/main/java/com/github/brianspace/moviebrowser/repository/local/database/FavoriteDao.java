@@ -21,6 +21,7 @@ import android.arch.persistence.room.Insert;
 import android.arch.persistence.room.OnConflictStrategy;
 import android.arch.persistence.room.Query;
 import io.reactivex.Maybe;
+import java.util.List;
 
 /**
  * ROOM DAO interface to access the favorite movies database records.
@@ -37,6 +38,15 @@ public interface FavoriteDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     long insertFavorite(Favorite favorite);
 
+    /**
+     * Insert or replace favorite movie records.
+     *
+     * @param favorites The favorite entities.
+     * @return the rowIds of the inserted items.
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    long[] insertFavorites(List<Favorite> favorites);
+
     /**
      * Load all favorite records.
      *
@@ -45,6 +55,32 @@ public interface FavoriteDao {
     @Query("SELECT * FROM Favorite ORDER BY create_time DESC")
     Favorite[] loadAllFavorites();
 
+    /**
+     * Load the summaries of the first page of favorite records, most recently added first.
+     * The movie data is not read.
+     *
+     * @param count maximum number of records to load.
+     * @return the favorite summaries.
+     */
+    @Query("SELECT id, create_time, title, poster, vote_average FROM Favorite"
+            + " ORDER BY create_time DESC, id DESC LIMIT :count")
+    FavoriteSummary[] loadFirstFavoriteSummaries(int count);
+
+    /**
+     * Load the summaries of the page of favorite records following the specified one, in the same order as
+     * {@link #loadFirstFavoriteSummaries(int)}. Seeks by the key of the last record instead of an offset, so that
+     * every page is a range scan of the create_time index. The movie data is not read.
+     *
+     * @param createTime create time of the last record of the previous page.
+     * @param id movie ID of the last record of the previous page.
+     * @param count maximum number of records to load.
+     * @return the favorite summaries.
+     */
+    @Query("SELECT id, create_time, title, poster, vote_average FROM Favorite"
+            + " WHERE create_time < :createTime OR (create_time = :createTime AND id < :id)"
+            + " ORDER BY create_time DESC, id DESC LIMIT :count")
+    FavoriteSummary[] loadFavoriteSummariesAfter(long createTime, int id, int count);
+
     /**
      * Find the favorite movie record by ID.
      *
@@ -62,4 +98,13 @@ public interface FavoriteDao {
      */
     @Query("DELETE FROM Favorite WHERE id IS :id")
     int deleteFavorite(long id);
+
+    /**
+     * Delete the favorite movies with specified IDs.
+     *
+     * @param ids movie IDs, no more than the SQLite limit of 999 variables.
+     * @return number of rows deleted.
+     */
+    @Query("DELETE FROM Favorite WHERE id IN (:ids)")
+    int deleteFavorites(int[] ids);
 }
\ No newline at end of file
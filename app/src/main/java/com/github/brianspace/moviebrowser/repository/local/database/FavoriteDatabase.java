@@ -16,17 +16,204 @@
 
 package com.github.brianspace.moviebrowser.repository.local.database;
 
+import android.arch.persistence.db.SupportSQLiteDatabase;
+import android.arch.persistence.db.SupportSQLiteOpenHelper;
+import android.arch.persistence.db.SupportSQLiteStatement;
+import android.arch.persistence.db.framework.FrameworkSQLiteOpenHelperFactory;
 import android.arch.persistence.room.Database;
 import android.arch.persistence.room.RoomDatabase;
+import android.arch.persistence.room.migration.Migration;
+import android.database.Cursor;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import com.github.brianspace.moviebrowser.repository.data.MovieData;
+import com.github.brianspace.moviebrowser.repository.data.MovieDataCodec;
 
 /**
  * ROOM database class for favorite movies.
  */
-@Database(entities = {Favorite.class}, version = 1)
+@Database(entities = {Favorite.class}, version = 3)
 public abstract class FavoriteDatabase extends RoomDatabase {
 
+    // region Private Constants
+
+    /**
+     * Tag for logging.
+     */
+    private static final String TAG = FavoriteDatabase.class.getSimpleName();
+
+    /**
+     * Factory of the framework SQLite open helpers.
+     */
+    private static final SupportSQLiteOpenHelper.Factory FRAMEWORK_FACTORY = new FrameworkSQLiteOpenHelperFactory();
+
+    // endregion
+
+    // region Private Inner Types
+
+    /**
+     * Open helper callback which enables write-ahead logging while configuring the connection, before it is used,
+     * and delegates the rest to the callback of ROOM.
+     */
+    private static final class WriteAheadLoggingCallback extends SupportSQLiteOpenHelper.Callback {
+
+        /**
+         * The callback of ROOM.
+         */
+        private final SupportSQLiteOpenHelper.Callback delegate;
+
+        /* default */ WriteAheadLoggingCallback(@NonNull final SupportSQLiteOpenHelper.Callback delegate) {
+            super(delegate.version);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onConfigure(final SupportSQLiteDatabase database) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                database.enableWriteAheadLogging();
+            }
+
+            delegate.onConfigure(database);
+        }
+
+        @Override
+        public void onCreate(final SupportSQLiteDatabase database) {
+            delegate.onCreate(database);
+        }
+
+        @Override
+        public void onUpgrade(final SupportSQLiteDatabase database, final int oldVersion, final int newVersion) {
+            delegate.onUpgrade(database, oldVersion, newVersion);
+        }
+
+        @Override
+        public void onDowngrade(final SupportSQLiteDatabase database, final int oldVersion, final int newVersion) {
+            delegate.onDowngrade(database, oldVersion, newVersion);
+        }
+
+        @Override
+        public void onOpen(final SupportSQLiteDatabase database) {
+            delegate.onOpen(database);
+        }
+
+        @Override
+        public void onCorruption(final SupportSQLiteDatabase database) {
+            delegate.onCorruption(database);
+        }
+    }
+
+    // endregion
+
+    // region Public Constants
+
+    /**
+     * Open helper factory which enables write-ahead logging when a connection is configured, so that reading the
+     * favorites is not blocked by the write transactions, and the reads can run concurrently.
+     * ROOM 1.0 has no journal mode option in its builder, and its own callback has no {@code onConfigure}.
+     */
+    public static final SupportSQLiteOpenHelper.Factory WRITE_AHEAD_LOGGING_FACTORY = configuration ->
+            FRAMEWORK_FACTORY.create(SupportSQLiteOpenHelper.Configuration.builder(configuration.context)
+                    .name(configuration.name)
+                    .callback(new WriteAheadLoggingCallback(configuration.callback))
+                    .build());
+
+    /**
+     * Migration from version 1: add the vote_average column, filled from the stored JSON.
+     */
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull final SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE Favorite ADD COLUMN vote_average REAL NOT NULL DEFAULT 0");
+
+            final SupportSQLiteStatement update =
+                    database.compileStatement("UPDATE Favorite SET vote_average = ? WHERE id = ?");
+            final Cursor cursor = database.query("SELECT id, json FROM Favorite");
+            try {
+                while (cursor.moveToNext()) {
+                    final MovieData movie = Favorite.parseJson(cursor.getString(1));
+                    if (movie != null) {
+                        update.bindDouble(1, movie.getVoteAverage());
+                        update.bindLong(2, cursor.getInt(0));
+                        update.executeUpdateDelete();
+                    }
+                }
+            } finally {
+                cursor.close();
+            }
+        }
+    };
+
+    /**
+     * Migration from version 2: replace the json column with the data column encoded by
+     * {@link com.github.brianspace.moviebrowser.repository.data.MovieDataCodec}.
+     * SQLite cannot drop a column, so the table is copied to a new one. The rows whose JSON is missing or invalid are
+     * kept, with only the summary columns encoded into the data column.
+     */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull final SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `Favorite_new` (`id` INTEGER NOT NULL,"
+                    + " `create_time` INTEGER NOT NULL, `title` TEXT, `poster` TEXT, `vote_average` REAL NOT NULL,"
+                    + " `data` BLOB, PRIMARY KEY(`id`))");
+
+            final SupportSQLiteStatement insert = database.compileStatement("INSERT INTO Favorite_new"
+                    + " (id, create_time, title, poster, vote_average, data) VALUES (?, ?, ?, ?, ?, ?)");
+            final Cursor cursor = database.query("SELECT id, create_time, title, poster, vote_average, json"
+                    + " FROM Favorite");
+            try {
+                while (cursor.moveToNext()) {
+                    final int id = cursor.getInt(0);
+                    final String title = cursor.getString(2);
+                    final String poster = cursor.getString(3);
+                    final float voteAverage = cursor.getFloat(4);
+                    MovieData movie = Favorite.parseJson(cursor.getString(5));
+                    if (movie == null) {
+                        Log.w(TAG, "Favorite " + id + " has no valid JSON, only the summary columns are kept.");
+                        movie = MovieData.createSummary(id, title, poster, voteAverage);
+                    }
+
+                    insert.bindLong(1, id);
+                    insert.bindLong(2, cursor.getLong(1));
+                    bindStringOrNull(insert, 3, title);
+                    bindStringOrNull(insert, 4, poster);
+                    insert.bindDouble(5, voteAverage);
+                    insert.bindBlob(6, MovieDataCodec.encode(movie));
+                    insert.executeInsert();
+                }
+            } finally {
+                cursor.close();
+            }
+
+            database.execSQL("DROP TABLE Favorite");
+            database.execSQL("ALTER TABLE Favorite_new RENAME TO Favorite");
+            database.execSQL("CREATE INDEX `index_Favorite_id` ON `Favorite` (`id`)");
+            database.execSQL("CREATE INDEX `index_Favorite_create_time` ON `Favorite` (`create_time`)");
+        }
+    };
+
+    // endregion
+
+    // region Public Methods
+
     /**
      * Get the DAO object for the database.
      */
     public abstract FavoriteDao getDao();
-}
\ No newline at end of file
+
+    // endregion
+
+    // region Private Methods
+
+    private static void bindStringOrNull(@NonNull final SupportSQLiteStatement statement, final int index,
+            @Nullable final String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    // endregion
+}
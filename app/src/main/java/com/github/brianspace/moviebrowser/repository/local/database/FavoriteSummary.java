@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.moviebrowser.repository.local.database;
+
+import android.arch.persistence.room.ColumnInfo;
+import com.github.brianspace.moviebrowser.repository.data.MovieData;
+
+/**
+ * ROOM projection of the favorite movie columns needed to show a movie in the list, without the movie data.
+ */
+public class FavoriteSummary {
+
+    // region Public Fields
+
+    /**
+     * Movie ID.
+     */
+    public int id;
+
+    /**
+     * The time the movie is added to the table.
+     */
+    @ColumnInfo(name = "create_time")
+    public long createTime;
+
+    /**
+     * Movie title.
+     */
+    public String title;
+
+    /**
+     * Movie poster image path.
+     */
+    public String poster;
+
+    /**
+     * Average vote score of the movie.
+     */
+    @ColumnInfo(name = "vote_average")
+    public float voteAverage;
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Create a new instance of MovieData with only the fields in this projection.
+     *
+     * @return a new instance of MovieData.
+     */
+    public MovieData toMovie() {
+        return MovieData.createSummary(id, title, poster, voteAverage);
+    }
+
+    // endregion
+}
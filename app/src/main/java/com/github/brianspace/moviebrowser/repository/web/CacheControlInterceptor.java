@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.moviebrowser.repository.web;
+
+import java.io.IOException;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Network interceptor to rewrite the cache headers of the TMDb responses by the {@link CachePolicy} of the
+ * endpoint, before the responses are stored in the HTTP cache.
+ */
+/* default */ class CacheControlInterceptor implements Interceptor {
+
+    // region Private Constants
+
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+
+    private static final String HEADER_PRAGMA = "Pragma";
+
+    private static final String HEADER_EXPIRES = "Expires";
+
+    // endregion
+
+    // region Public Overrides
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Response response = chain.proceed(chain.request());
+        final CachePolicy policy = CachePolicy.forUrl(chain.request().url());
+        if (policy == null || !response.isSuccessful()) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader(HEADER_PRAGMA)
+                .removeHeader(HEADER_EXPIRES)
+                .header(HEADER_CACHE_CONTROL, policy.getCacheControl())
+                .build();
+    }
+
+    // endregion
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.moviebrowser.repository.web;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import com.github.brianspace.moviebrowser.repository.Constants;
+import java.util.List;
+import java.util.regex.Pattern;
+import okhttp3.HttpUrl;
+
+/**
+ * HTTP cache policy of the endpoints of {@link IMovieDbApi}, which overrides the cache headers of TMDb.
+ */
+/* default */ enum CachePolicy {
+
+    /**
+     * For {@code configuration}.
+     */
+    CONFIGURATION(Constants.CACHE_MAX_AGE_CONFIGURATION, 0),
+
+    /**
+     * For {@code movie/now_playing}.
+     */
+    NOW_PLAYING(Constants.CACHE_MAX_AGE_NOW_PLAYING, 0),
+
+    /**
+     * For {@code movie/{id}}.
+     */
+    MOVIE_DETAILS(Constants.CACHE_MAX_AGE_MOVIE_DETAILS, Constants.CACHE_STALE_WHILE_REVALIDATE_MOVIE_DETAILS);
+
+    // region Private Constants
+
+    private static final String SEGMENT_CONFIGURATION = "configuration";
+
+    private static final String SEGMENT_MOVIE = "movie";
+
+    private static final String SEGMENT_NOW_PLAYING = "now_playing";
+
+    private static final Pattern MOVIE_ID_PATTERN = Pattern.compile("\\d+");
+
+    // endregion
+
+    // region Private Fields
+
+    /**
+     * Time (in seconds) the response is fresh.
+     */
+    private final int maxAge;
+
+    /**
+     * Time (in seconds) after the response expired, during which it is still used and refreshed in the background.
+     */
+    private final int staleWhileRevalidate;
+
+    // endregion
+
+    // region Constructors
+
+    CachePolicy(final int maxAge, final int staleWhileRevalidate) {
+        this.maxAge = maxAge;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    // endregion
+
+    // region Package Private Methods
+
+    /**
+     * Get the policy for the URL of a request.
+     *
+     * @return the policy, or null if the endpoint uses the cache headers from the server.
+     */
+    @Nullable
+    /* default */ static CachePolicy forUrl(@NonNull final HttpUrl url) {
+        final List<String> segments = url.pathSegments();
+        final int count = segments.size();
+        final String last = segments.get(count - 1);
+        if (SEGMENT_CONFIGURATION.equals(last)) {
+            return CONFIGURATION;
+        }
+
+        if (count < 2 || !SEGMENT_MOVIE.equals(segments.get(count - 2))) {
+            return null;
+        }
+
+        if (SEGMENT_NOW_PLAYING.equals(last)) {
+            return NOW_PLAYING;
+        }
+
+        return MOVIE_ID_PATTERN.matcher(last).matches() ? MOVIE_DETAILS : null;
+    }
+
+    /**
+     * Get the time (in seconds) after the response expired, during which it is still used and refreshed in the
+     * background. 0 if the response is not used after expired.
+     */
+    /* default */ int getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    /**
+     * Get the value of the {@code Cache-Control} header for the responses.
+     */
+    @NonNull
+    /* default */ String getCacheControl() {
+        final StringBuilder builder = new StringBuilder("public, max-age=").append(maxAge);
+        if (staleWhileRevalidate > 0) {
+            builder.append(", stale-while-revalidate=").append(staleWhileRevalidate);
+        }
+
+        return builder.toString();
+    }
+
+    // endregion
+}
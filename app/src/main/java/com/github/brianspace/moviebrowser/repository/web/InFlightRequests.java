@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.moviebrowser.repository.web;
+
+import android.support.annotation.NonNull;
+import io.reactivex.Single;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * The requests in progress, keyed by the endpoint and parameters.
+ * Subscribing to an identical request while one is in progress shares it, instead of sending the request again.
+ * Once the request completes or fails, it is removed, and the next subscription sends a new one.
+ */
+/* default */ class InFlightRequests {
+
+    // region Private Fields
+
+    /**
+     * The shared requests in progress. Guarded by this.
+     */
+    private final Map<String, Single<?>> requests = new HashMap<>();
+
+    // endregion
+
+    // region Package Private Methods
+
+    /**
+     * Get a request shared by the identical requests in progress.
+     *
+     * @param key the key of the endpoint and parameters.
+     * @param requestFactory the factory to create the request, when no identical one is in progress.
+     * @param <T> type of the response.
+     * @return the request, which is shared on subscription.
+     */
+    @NonNull
+    /* default */ <T> Single<T> share(@NonNull final String key, @NonNull final Callable<Single<T>> requestFactory) {
+        return Single.defer(() -> obtain(key, requestFactory));
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> Single<T> obtain(@NonNull final String key,
+            @NonNull final Callable<Single<T>> requestFactory) throws Exception {
+        Single<T> request = (Single<T>) requests.get(key);
+        if (request == null) {
+            // The request is cached for the subscribers until it completes, and then removed for new requests.
+            request = requestFactory.call().doFinally(() -> remove(key)).cache();
+            requests.put(key, request);
+        }
+
+        return request;
+    }
+
+    private synchronized void remove(@NonNull final String key) {
+        requests.remove(key);
+    }
+
+    // endregion
+}
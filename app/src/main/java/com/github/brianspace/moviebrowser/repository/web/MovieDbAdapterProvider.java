@@ -19,6 +19,7 @@ package com.github.brianspace.moviebrowser.repository.web;
 import android.support.annotation.NonNull;
 import com.github.brianspace.moviebrowser.BuildConfig;
 import com.github.brianspace.moviebrowser.repository.Constants;
+import com.github.brianspace.moviebrowser.repository.data.MovieDbTypeAdapterFactory;
 import com.github.brianspace.moviebrowser.repository.util.FileUtil;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
@@ -27,6 +28,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 import okhttp3.Cache;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
@@ -89,19 +91,18 @@ final class MovieDbAdapterProvider {
     // region Package Private Methods
 
     /**
-     * Create a new instance of {@link okhttp3.OkHttpClient}.
+     * Create the base {@link okhttp3.OkHttpClient} shared by the app.
+     * The clients for each usage are derived from it by {@code newBuilder()}, so that they share the connection pool,
+     * dispatcher and thread pool, and the connections and TLS sessions are reused.
      */
     @NonNull
-    /* default */ static OkHttpClient createOkHttpClient() {
-        // Configure HTTP cache
-        final File httpCacheDirectory = FileUtil.getHttpCacheDir();
-        final Cache cache = new Cache(httpCacheDirectory, Constants.HTTP_CACHE_SIZE);
+    /* default */ static OkHttpClient createBaseOkHttpClient() {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Constants.HTTP_MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(Constants.HTTP_MAX_REQUESTS_PER_HOST);
 
-        final OkHttpClient.Builder builder = new OkHttpClient().newBuilder()
-                .addInterceptor(new ApiKeyInterceptor())
-                .connectTimeout(Constants.TMDB_API_TIMEOUT_CONNECT, TimeUnit.SECONDS)
-                .readTimeout(Constants.TMDB_API_TIMEOUT_READ, TimeUnit.SECONDS)
-                .cache(cache);
+        final OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher);
 
         // Uncomment to use Stetho network debugging
         // if (BuildConfig.DEBUG) {
@@ -112,15 +113,51 @@ final class MovieDbAdapterProvider {
         return builder.build();
     }
 
+    /**
+     * Create a new instance of {@link okhttp3.OkHttpClient} for the TMDb Web API.
+     * The responses are cached by the {@link CachePolicy} of each endpoint instead of the TMDb cache headers.
+     *
+     * @param baseClient the base client to derive from.
+     */
+    @NonNull
+    /* default */ static OkHttpClient createOkHttpClient(@NonNull final OkHttpClient baseClient) {
+        // Configure HTTP cache
+        final File httpCacheDirectory = FileUtil.getHttpCacheDir();
+        final Cache cache = new Cache(httpCacheDirectory, Constants.HTTP_CACHE_SIZE);
+
+        return baseClient.newBuilder()
+                .addInterceptor(new ApiKeyInterceptor())
+                .addInterceptor(new StaleWhileRevalidateInterceptor())
+                .addNetworkInterceptor(new CacheControlInterceptor())
+                .connectTimeout(Constants.TMDB_API_TIMEOUT_CONNECT, TimeUnit.SECONDS)
+                .readTimeout(Constants.TMDB_API_TIMEOUT_READ, TimeUnit.SECONDS)
+                .cache(cache)
+                .build();
+    }
+
+    /**
+     * Create a new instance of {@link okhttp3.OkHttpClient} for downloading images.
+     *
+     * @param baseClient the base client to derive from.
+     */
+    @NonNull
+    /* default */ static OkHttpClient createImageOkHttpClient(@NonNull final OkHttpClient baseClient) {
+        return baseClient.newBuilder()
+                .connectTimeout(Constants.IMAGE_TIMEOUT_CONNECT, TimeUnit.SECONDS)
+                .readTimeout(Constants.IMAGE_TIMEOUT_READ, TimeUnit.SECONDS)
+                .build();
+    }
+
     /**
      * Create a new instance for {@link IMovieDbApi IMovieDbApi} interface.
      * The requests will run in OkHttp's internal thread pool.
      */
     @NonNull
     /* default */ static IMovieDbApi create(@NonNull final OkHttpClient httpClient) {
-        // Set GSON naming policy
+        // Set GSON naming policy, and decode the data classes with the streaming adapters instead of reflection.
         final Gson gson = new GsonBuilder()
                 .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+                .registerTypeAdapterFactory(new MovieDbTypeAdapterFactory())
                 .create();
 
         final Retrofit retrofit = new Retrofit.Builder()
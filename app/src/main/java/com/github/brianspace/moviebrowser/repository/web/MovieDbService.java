@@ -59,6 +59,12 @@ class MovieDbService implements IMovieDbService {
      */
     private final PagingEnvelope<MovieData> emptyResult = new PagingEnvelope<>(0, 0, 0, null);
 
+    /**
+     * The requests in progress, shared by the identical requests, e.g. the details of a movie requested from two
+     * screens at once.
+     */
+    private final InFlightRequests inFlightRequests = new InFlightRequests();
+
     // endregion
 
     // region Constructors
@@ -91,7 +97,7 @@ class MovieDbService implements IMovieDbService {
     @Override
     @NonNull
     public Single<Configuration> getConfiguration() {
-        return movieDbApi.getConfiguration();
+        return inFlightRequests.share("configuration", movieDbApi::getConfiguration);
     }
 
     @Override
@@ -99,21 +105,27 @@ class MovieDbService implements IMovieDbService {
     public Single<PagingEnvelope<MovieData>> getMovieNowPlaying(
             @Nullable final PagingEnvelope<MovieData> previous) {
         if (previous == null) {
-            return movieDbApi.getMovieNowPlaying(1);
+            return getMovieNowPlayingPage(1);
         }
 
         final int prevPage = previous.getPage();
         if (prevPage < previous.getTotalPages()) {
-            return movieDbApi.getMovieNowPlaying(prevPage + 1).subscribeOn(Schedulers.io());
+            return getMovieNowPlayingPage(prevPage + 1).subscribeOn(Schedulers.io());
         }
 
         return Single.just(emptyResult);
     }
 
+    @Override
+    @NonNull
+    public Single<PagingEnvelope<MovieData>> getMovieNowPlayingPage(final int page) {
+        return inFlightRequests.share("movie/now_playing?page=" + page, () -> movieDbApi.getMovieNowPlaying(page));
+    }
+
     @Override
     @NonNull
     public Single<MovieDetailsData> getMovieDetails(final int id) {
-        return movieDbApi.getMovieDetails(id);
+        return inFlightRequests.share("movie/" + id, () -> movieDbApi.getMovieDetails(id));
     }
 
     @Override
@@ -121,16 +133,26 @@ class MovieDbService implements IMovieDbService {
     public Single<PagingEnvelope<MovieData>> getSimilarMovies(final int id,
             @Nullable final PagingEnvelope<MovieData> previous) {
         if (previous == null) {
-            return movieDbApi.getSimilarMovies(id, 1);
+            return getSimilarMoviesPage(id, 1);
         }
 
         final int prevPage = previous.getPage();
         if (prevPage < previous.getTotalPages()) {
-            return movieDbApi.getSimilarMovies(id, prevPage + 1);
+            return getSimilarMoviesPage(id, prevPage + 1);
         }
 
         return Single.just(emptyResult);
     }
 
     // endregion
+
+    // region Private Methods
+
+    @NonNull
+    private Single<PagingEnvelope<MovieData>> getSimilarMoviesPage(final int id, final int page) {
+        return inFlightRequests.share("movie/" + id + "/similar?page=" + page,
+                () -> movieDbApi.getSimilarMovies(id, page));
+    }
+
+    // endregion
 }
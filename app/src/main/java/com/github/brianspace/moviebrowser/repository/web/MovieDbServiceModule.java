@@ -16,6 +16,8 @@
 
 package com.github.brianspace.moviebrowser.repository.web;
 
+import com.github.brianspace.moviebrowser.di.qualifiers.BaseHttpClient;
+import com.github.brianspace.moviebrowser.di.qualifiers.ImageHttpClient;
 import com.github.brianspace.moviebrowser.repository.IMovieDbService;
 import dagger.Module;
 import dagger.Provides;
@@ -30,8 +32,22 @@ import okhttp3.OkHttpClient;
 public class MovieDbServiceModule {
     @Provides
     @Singleton
-    /* default */ static OkHttpClient provideOkHttpClient() {
-        return MovieDbAdapterProvider.createOkHttpClient();
+    @BaseHttpClient
+    /* default */ static OkHttpClient provideBaseOkHttpClient() {
+        return MovieDbAdapterProvider.createBaseOkHttpClient();
+    }
+
+    @Provides
+    @Singleton
+    /* default */ static OkHttpClient provideOkHttpClient(@BaseHttpClient final OkHttpClient baseOkHttpClient) {
+        return MovieDbAdapterProvider.createOkHttpClient(baseOkHttpClient);
+    }
+
+    @Provides
+    @Singleton
+    @ImageHttpClient
+    /* default */ static OkHttpClient provideImageOkHttpClient(@BaseHttpClient final OkHttpClient baseOkHttpClient) {
+        return MovieDbAdapterProvider.createImageOkHttpClient(baseOkHttpClient);
     }
 
     @Provides
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.moviebrowser.repository.web;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+import com.github.brianspace.moviebrowser.BuildConfig;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Okio;
+
+/**
+ * Application interceptor to return the cached TMDb responses without waiting for the network, by the
+ * {@link CachePolicy} of the endpoint:
+ * <ul>
+ * <li>For the endpoints with stale-while-revalidate, an expired response within the time is returned at once, and
+ * refreshed in the background for the next requests.</li>
+ * <li>When the network fails, the cached response is returned regardless of its age.</li>
+ * </ul>
+ * Should be added after the interceptors changing the request, so that the background refresh has the same URL.
+ */
+/* default */ class StaleWhileRevalidateInterceptor implements Interceptor {
+
+    // region Private Constants
+
+    /**
+     * Tag for logcat.
+     */
+    private static final String TAG = StaleWhileRevalidateInterceptor.class.getSimpleName();
+
+    private static final String HEADER_WARNING = "Warning";
+
+    /**
+     * Warning code added by OkHttp to the stale responses from the cache.
+     */
+    private static final String WARNING_STALE = "110";
+
+    /**
+     * Status code of OkHttp for the only-if-cached requests not in the cache.
+     */
+    private static final int CODE_NOT_CACHED = 504;
+
+    // endregion
+
+    // region Private Fields
+
+    /**
+     * The calls created for the background refresh, which should go to the network.
+     */
+    private final Set<Call> refreshCalls = Collections.newSetFromMap(new ConcurrentHashMap<Call, Boolean>());
+
+    /**
+     * The URLs being refreshed in the background, to refresh each only once at a time.
+     */
+    private final Set<HttpUrl> refreshingUrls = Collections.newSetFromMap(new ConcurrentHashMap<HttpUrl, Boolean>());
+
+    // endregion
+
+    // region Public Overrides
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        if (refreshCalls.remove(chain.call())) {
+            return chain.proceed(request.newBuilder().cacheControl(CacheControl.FORCE_NETWORK).build());
+        }
+
+        final CachePolicy policy = CachePolicy.forUrl(request.url());
+        if (policy == null) {
+            return chain.proceed(request);
+        }
+
+        if (policy.getStaleWhileRevalidate() > 0) {
+            final Response cached = chain.proceed(request.newBuilder()
+                    .cacheControl(new CacheControl.Builder()
+                            .onlyIfCached()
+                            .maxStale(policy.getStaleWhileRevalidate(), TimeUnit.SECONDS)
+                            .build())
+                    .build());
+            if (cached.code() != CODE_NOT_CACHED) {
+                if (isStale(cached)) {
+                    refreshInBackground(chain);
+                }
+
+                return cached;
+            }
+
+            cached.close();
+        }
+
+        try {
+            return chain.proceed(request);
+        } catch (final IOException e) {
+            if (chain.call().isCanceled()) {
+                throw e;
+            }
+
+            // Offline or the network failed, use the cached response however old it is.
+            final Response cached = chain.proceed(request.newBuilder().cacheControl(CacheControl.FORCE_CACHE).build());
+            if (cached.code() == CODE_NOT_CACHED) {
+                cached.close();
+                throw e;
+            }
+
+            return cached;
+        }
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private static boolean isStale(@NonNull final Response response) {
+        for (final String warning : response.headers(HEADER_WARNING)) {
+            if (warning.startsWith(WARNING_STALE)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Request the URL again from the network in the background, the response is stored in the cache.
+     */
+    private void refreshInBackground(@NonNull final Chain chain) {
+        final HttpUrl url = chain.request().url();
+        if (!refreshingUrls.add(url)) {
+            return;
+        }
+
+        final Call refreshCall = chain.call().clone();
+        refreshCalls.add(refreshCall);
+        refreshCall.enqueue(new Callback() {
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                refreshCalls.remove(call);
+                refreshingUrls.remove(url);
+                if (BuildConfig.DEBUG) {
+                    Log.w(TAG, "Refresh failed for " + url.encodedPath() + ": " + e.toString());
+                }
+            }
+
+            @Override
+            public void onResponse(final Call call, final Response response) throws IOException {
+                final ResponseBody body = response.body();
+                try {
+                    // The response is written to the cache as the body is read.
+                    if (body != null) {
+                        body.source().readAll(Okio.blackhole());
+                    }
+                } finally {
+                    response.close();
+                    refreshingUrls.remove(url);
+                }
+            }
+        });
+    }
+
+    // endregion
+}
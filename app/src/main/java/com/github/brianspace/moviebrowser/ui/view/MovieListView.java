@@ -20,6 +20,8 @@ import android.content.Context;
 import android.databinding.ObservableList;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.view.View;
@@ -57,6 +59,11 @@ public class MovieListView extends FrameLayout {
      */
     private static final int HTTP_ERROR_UNAUTHORIZED = 401;
 
+    /**
+     * Start prefetching the next pages when the last visible item is within this number of items from the end.
+     */
+    private static final int PREFETCH_THRESHOLD = 12;
+
     // endregion
 
     // region Package Private Fields
@@ -146,6 +153,24 @@ public class MovieListView extends FrameLayout {
         }
     }
 
+    /**
+     * Scroll listener to prefetch the next pages when the grid is scrolled close to the end.
+     */
+    private class PrefetchScrollListener extends RecyclerView.OnScrollListener {
+        @Override
+        public void onScrolled(final RecyclerView recyclerView, final int dx, final int dy) {
+            if (dy <= 0 || movieList == null || !movieList.hasNexPage()) {
+                return;
+            }
+
+            final LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+            final int lastVisible = layoutManager.findLastVisibleItemPosition();
+            if (lastVisible >= 0 && layoutManager.getItemCount() - lastVisible <= PREFETCH_THRESHOLD) {
+                movieList.prefetchNextPages();
+            }
+        }
+    }
+
     /**
      * RecyclerView adapter for movie view model list.
      */
@@ -244,6 +269,7 @@ public class MovieListView extends FrameLayout {
         ButterKnife.bind(this);
 
         swipeRefreshLayout.setDirection(SwipyRefreshLayoutDirection.TOP);
+        movieGridView.addOnScrollListener(new PrefetchScrollListener());
 
         swipeRefreshLayout.setOnRefreshListener(direction -> {
             if (direction == SwipyRefreshLayoutDirection.TOP) {
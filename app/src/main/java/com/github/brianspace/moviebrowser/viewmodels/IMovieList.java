@@ -69,4 +69,9 @@ public interface IMovieList extends Observable {
      */
     @NonNull
     Completable loadNextPage();
+
+    /**
+     * Start fetching the following pages in the background, so that the next page loads faster.
+     */
+    void prefetchNextPages();
 }
@@ -150,8 +150,8 @@ public class MovieDetailsViewModel extends MovieViewModel {
                 .observeOn(AndroidSchedulers.mainThread())
                 .doFinally(() -> {
                     isLoading = false;
-                    notifyPropertyChanged(BR.tagline);
-                    notifyPropertyChanged(BR.state);
+                    // Refresh all the bindings including the backdrop, which may come with the full data.
+                    notifyChange();
                 });
     }
 
@@ -206,12 +206,16 @@ public class MovieDetailsViewModel extends MovieViewModel {
     private void addToFavorite() {
         favoriteMovieCollection.addToFavorite(movie).subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
+                // The state is moved back if the change is not written.
+                .doFinally(this::notifyFavoriteChanged)
                 .subscribe(result -> {
-                    message = new MessageSource(R.string.msg_added_to_favorite, Type.NOTIFICATION);
-                    notifyPropertyChanged(BR.favorite);
-                    notifyPropertyChanged(BR.state);
-                    notifyPropertyChanged(BR.message);
+                    if (result) {
+                        message = new MessageSource(R.string.msg_added_to_favorite, Type.NOTIFICATION);
+                        notifyPropertyChanged(BR.message);
+                    }
                 }, onErrorConsumer);
+        // The favorite state is changed at once.
+        notifyFavoriteChanged();
     }
 
     // The user may not cancel the call when leave the page so the return value can be safely ignored.
@@ -219,12 +223,21 @@ public class MovieDetailsViewModel extends MovieViewModel {
     private void removeFromFavorite() {
         favoriteMovieCollection.removeFromFavorite(movie).subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
+                // The state is moved back if the change is not written.
+                .doFinally(this::notifyFavoriteChanged)
                 .subscribe(result -> {
-                    message = new MessageSource(R.string.msg_removed_from_favorite, Type.NOTIFICATION);
-                    notifyPropertyChanged(BR.favorite);
-                    notifyPropertyChanged(BR.state);
-                    notifyPropertyChanged(BR.message);
+                    if (result) {
+                        message = new MessageSource(R.string.msg_removed_from_favorite, Type.NOTIFICATION);
+                        notifyPropertyChanged(BR.message);
+                    }
                 }, onErrorConsumer);
+        // The favorite state is changed at once.
+        notifyFavoriteChanged();
+    }
+
+    private void notifyFavoriteChanged() {
+        notifyPropertyChanged(BR.favorite);
+        notifyPropertyChanged(BR.state);
     }
 
     // endregion
@@ -18,13 +18,12 @@ package com.github.brianspace.moviebrowser.viewmodels;
 
 import android.databinding.BaseObservable;
 import android.databinding.Bindable;
-import android.os.Handler;
-import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
 import android.view.View;
 import com.github.brianspace.common.observable.IObserver;
+import com.github.brianspace.common.observable.ObserverDispatchers;
 import com.github.brianspace.common.util.Assertion;
 import com.github.brianspace.databinding.message.IMessageSource;
 import com.github.brianspace.databinding.message.MessageSource;
@@ -62,18 +61,13 @@ public class MovieViewModel extends BaseObservable {
      */
     protected MessageSource message;
 
-    /**
-     * Handler of the main looper.
-     */
-    private final Handler mainHandler = new Handler(Looper.getMainLooper());
-
     /**
      * Change observer of the underlying movie model, to propagate the change to UI.
      * - Currently only favorite state will change.
      * - A field is required to keep the reference from being collected.
+     * - Registered with the main looper dispatcher, so it is called on the main thread.
      */
-    private final IObserver itemObserver = (observable, data) ->
-            mainHandler.post(() -> notifyPropertyChanged(BR.favorite));
+    private final IObserver itemObserver = (observable, data) -> notifyPropertyChanged(BR.favorite);
 
     // endregion
 
@@ -92,7 +86,7 @@ public class MovieViewModel extends BaseObservable {
         this.imageConfig = Assertion.notNull(imageConfig);
         this.favoriteMovieCollection = Assertion.notNull(favoriteMovieCollection);
 
-        movie.addObserver(itemObserver);
+        movie.addObserver(itemObserver, ObserverDispatchers.mainLooper());
     }
 
     // endregion
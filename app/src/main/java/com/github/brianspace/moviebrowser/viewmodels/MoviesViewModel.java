@@ -23,7 +23,9 @@ import android.databinding.ObservableList;
 import android.support.annotation.NonNull;
 import com.github.brianspace.common.observable.ICollectionObserver;
 import com.github.brianspace.common.observable.IObservable;
+import com.github.brianspace.common.observable.ObserverDispatchers;
 import com.github.brianspace.common.util.Assertion;
+import com.github.brianspace.common.util.ListPositionIndex;
 import com.github.brianspace.moviebrowser.BR;
 import com.github.brianspace.moviebrowser.models.IMovieCollection;
 import com.github.brianspace.moviebrowser.models.Movie;
@@ -66,6 +68,11 @@ class MoviesViewModel extends BaseObservable implements IMovieList {
      */
     private final ObservableArrayList<MovieViewModel> movies = new ObservableArrayList<>();
 
+    /**
+     * Index of the movie ids in the list of movie view models, updated together with the list.
+     */
+    private final ListPositionIndex<MovieViewModel> movieIndex = new ListPositionIndex<>(MovieViewModel::getId);
+
     /**
      * Observer instance for the model layer list of movies.
      */
@@ -76,7 +83,9 @@ class MoviesViewModel extends BaseObservable implements IMovieList {
     // region Private Inner Types
 
     /**
-     * Observer for the model layer list of movies.
+     * Observer for the model layer list of movies, notified on the main thread as it changes the bound list.
+     * The notifications queued before {@link #load()} copies the loaded movies are delivered after the copy, so the
+     * movies already in the list are not added again.
      */
     private class MovieListObserver implements ICollectionObserver {
 
@@ -89,42 +98,39 @@ class MoviesViewModel extends BaseObservable implements IMovieList {
                     if (!movies.isEmpty()) {
                         movies.clear();
                     }
+
+                    movieIndex.clear();
                     break;
                 case AppendItem:
-                    if (item != null) {
+                    if (item != null && !movieIndex.contains(((Movie) item).getId())) {
                         final Movie movie = (Movie) item;
-                        movies.add(viewModelFactory.createMovieViewModel(movie));
+                        final MovieViewModel movieViewModel = viewModelFactory.createMovieViewModel(movie);
+                        movies.add(movieViewModel);
+                        movieIndex.addLast(movieViewModel);
                     }
                     break;
                 case AppendRange:
                     if (range != null && !range.isEmpty()) {
-                        final List<MovieViewModel> appendList = new ArrayList<>();
-                        for (final Object addedItem : range) {
-                            appendList.add(0, viewModelFactory.createMovieViewModel((Movie) addedItem));
-                        }
-
-                        movies.addAll(appendList);
+                        appendMovies(range);
                     }
                     break;
                 case AddItemToFront:
-                    if (item != null) {
+                    if (item != null && !movieIndex.contains(((Movie) item).getId())) {
                         final Movie movie = (Movie) item;
-                        movies.add(0, viewModelFactory.createMovieViewModel(movie));
+                        final MovieViewModel movieViewModel = viewModelFactory.createMovieViewModel(movie);
+                        movies.add(0, movieViewModel);
+                        movieIndex.addFirst(movieViewModel);
                     }
                     break;
                 case RemoveItem:
-                    int indexToRemove = -1;
-                    final Movie movie = (Movie) item;
-                    for (int index = 0; index < movies.size(); ++index) {
-                        if (movies.get(index).hasId(movie.getId())) {
-                            indexToRemove = index;
-                            break;
+                    if (item != null) {
+                        final int id = ((Movie) item).getId();
+                        final int indexToRemove = movieIndex.indexOf(movies, id);
+                        if (indexToRemove >= 0) {
+                            movies.remove(indexToRemove);
+                            movieIndex.remove(id);
                         }
                     }
-
-                    if (indexToRemove >= 0) {
-                        movies.remove(indexToRemove);
-                    }
                     break;
                 case UpdateItem:
                     // Not used for now.
@@ -150,7 +156,7 @@ class MoviesViewModel extends BaseObservable implements IMovieList {
         this.movieCollection = Assertion.notNull(movieCollection);
         this.viewModelFactory = Assertion.notNull(viewModelFactory);
 
-        movieCollection.addObserver(movieListObserver);
+        movieCollection.addObserver(movieListObserver, ObserverDispatchers.mainLooper());
     }
 
     // endregion
@@ -179,12 +185,10 @@ class MoviesViewModel extends BaseObservable implements IMovieList {
     public final Completable load() {
         isLoading = true;
         if (movieCollection.isLoaded()) {
-            final List<MovieViewModel> appendList = new ArrayList<>();
-            for (final Movie movie : movieCollection.getMovies()) {
-                appendList.add(viewModelFactory.createMovieViewModel(movie));
-            }
-
-            movies.addAll(appendList);
+            // A full reload, the list is rebuilt from the loaded movies.
+            movies.clear();
+            movieIndex.clear();
+            appendMovies(movieCollection.getMovies());
             isLoading = false;
             notifyPropertyChanged(BR.movies);
             return Completable.complete();
@@ -201,6 +205,7 @@ class MoviesViewModel extends BaseObservable implements IMovieList {
     public final Completable refresh() {
         isLoading = true;
         movies.clear();
+        movieIndex.clear();
         return movieCollection.refresh()
                 .observeOn(AndroidSchedulers.mainThread())
                 .doFinally(() -> isLoading = false);
@@ -220,5 +225,33 @@ class MoviesViewModel extends BaseObservable implements IMovieList {
                 .doFinally(() -> isLoading = false);
     }
 
+    @Override
+    public void prefetchNextPages() {
+        movieCollection.prefetchNextPages();
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    /**
+     * Append the movies not in the list yet, in their order.
+     */
+    private void appendMovies(@NonNull final List<?> movieList) {
+        final List<MovieViewModel> appendList = new ArrayList<>(movieList.size());
+        for (final Object item : movieList) {
+            final Movie movie = (Movie) item;
+            if (!movieIndex.contains(movie.getId())) {
+                final MovieViewModel movieViewModel = viewModelFactory.createMovieViewModel(movie);
+                appendList.add(movieViewModel);
+                movieIndex.addLast(movieViewModel);
+            }
+        }
+
+        if (!appendList.isEmpty()) {
+            movies.addAll(appendList);
+        }
+    }
+
     // endregion
 }
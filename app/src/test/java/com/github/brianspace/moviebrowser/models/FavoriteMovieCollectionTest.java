@@ -19,10 +19,15 @@ package com.github.brianspace.moviebrowser.models;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,13 +41,19 @@ import com.github.brianspace.moviebrowser.repository.data.MovieData;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.SingleSubject;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
@@ -72,11 +83,15 @@ public class FavoriteMovieCollectionTest {
 
     // ----------- Values for Movie 2 -----------
 
+    private static final String MOVIE2_OVERVIEW = "overview 2";
+
     private static final int MOVIE2_ID = 2;
     private static final String MOVIE2_TITLE = "movie 2";
     private static final String MOVIE2_POSTER_FILE = "poster2.jpg";
     private static final String MOVIE2_JSON = "{\"id\": " + MOVIE2_ID + ", \"title\": \"" + MOVIE2_TITLE
             + "\", \"poster_path\": \"" + MOVIE2_POSTER_FILE + "\"}";
+    private static final String MOVIE2_FULL_JSON = "{\"id\": " + MOVIE2_ID + ", \"title\": \"" + MOVIE2_TITLE
+            + "\", \"poster_path\": \"" + MOVIE2_POSTER_FILE + "\", \"overview\": \"" + MOVIE2_OVERVIEW + "\"}";
 
     // endregion
 
@@ -111,13 +126,64 @@ public class FavoriteMovieCollectionTest {
     @Test
     public void testFavoriteMovies() throws Exception {
         final IFavoriteStore favoriteStore = mock(IFavoriteStore.class);
-        when(favoriteStore.getAllFavoriteMovies()).thenReturn(Single.just(movieList));
+        when(favoriteStore.getFavoriteMoviePages(anyInt())).thenReturn(Flowable.just(movieList));
 
         final IFavoriteMovieCollection favoriteMovies = new FavoriteMovieCollection(favoriteStore, entityStore);
         assertNotNull("FavoriteMovieCollection creation failed!", favoriteMovies);
         testMovieList(favoriteMovies);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFavoriteMoviesLoadedAsOneRange() throws Exception {
+        final List<MovieData> favoriteList = new ArrayList<>(2);
+        favoriteList.add(movie1Data);
+        favoriteList.addAll(movieList);
+        final IFavoriteStore favoriteStore = mock(IFavoriteStore.class);
+        when(favoriteStore.getFavoriteMoviePages(anyInt())).thenReturn(Flowable.just(favoriteList));
+
+        final IFavoriteMovieCollection favoriteMovies = new FavoriteMovieCollection(favoriteStore, entityStore);
+        final ICollectionObserver collectionObserver = mock(ICollectionObserver.class);
+        favoriteMovies.addObserver(collectionObserver);
+        final TestObserver<Void> testSubscriber = favoriteMovies.load().test();
+        testSubscriber.await();
+        testSubscriber.assertNoErrors();
+
+        final ArgumentCaptor<List<Object>> rangeCaptor = ArgumentCaptor.forClass(List.class);
+        verify(collectionObserver).onUpdate(eq(favoriteMovies), eq(Action.AppendRange), eq(null),
+                rangeCaptor.capture());
+        verify(collectionObserver, never()).onUpdate(eq(favoriteMovies), eq(Action.AppendItem), any(), any());
+        assertEquals("All favorites should be in one range.", favoriteMovies.getMovies(), rangeCaptor.getValue());
+    }
+
+    @Test
+    public void testFavoriteMoviesLoadedByPage() throws Exception {
+        final List<MovieData> firstPage = new ArrayList<>(1);
+        firstPage.add(movie1Data);
+        final IFavoriteStore favoriteStore = mock(IFavoriteStore.class);
+        when(favoriteStore.getFavoriteMoviePages(anyInt())).thenReturn(Flowable.just(firstPage, movieList));
+
+        final IFavoriteMovieCollection favoriteMovies = new FavoriteMovieCollection(favoriteStore, entityStore);
+        final ICollectionObserver collectionObserver = mock(ICollectionObserver.class);
+        favoriteMovies.addObserver(collectionObserver);
+        final TestObserver<Void> testSubscriber = favoriteMovies.load().test();
+        testSubscriber.await();
+        testSubscriber.assertNoErrors();
+
+        final List<Movie> movies = favoriteMovies.getMovies();
+        assertEquals("Movie list size is not two.", 2, movies.size());
+        verifyMovie1(movies.get(0));
+        verifyMovie2(movies.get(1));
+        assertTrue("isFavorite should be true.", movies.get(1).isFavorite());
+
+        // Each page is notified as soon as it is read.
+        final InOrder inOrder = inOrder(collectionObserver);
+        inOrder.verify(collectionObserver).onUpdate(eq(favoriteMovies), eq(Action.AppendItem), eq(movies.get(0)),
+                eq(null));
+        inOrder.verify(collectionObserver).onUpdate(eq(favoriteMovies), eq(Action.AppendItem), eq(movies.get(1)),
+                eq(null));
+    }
+
     @SuppressWarnings("PMD.NcssCount")
     @Test
     public void testAddFavoriteMovie() throws Exception {
@@ -151,6 +217,109 @@ public class FavoriteMovieCollectionTest {
         verifyMovie1(favorite.getMovies().get(0));
     }
 
+    @Test
+    public void testRemoveFavoriteMovie() throws Exception {
+        final IFavoriteStore favoriteStore = mock(IFavoriteStore.class);
+        when(favoriteStore.getFavoriteMoviePages(anyInt())).thenReturn(Flowable.just(movieList));
+        when(favoriteStore.getFavoriteMovie(anyLong())).thenReturn(Maybe.empty());
+        when(favoriteStore.addFavoriteMovie(any())).thenReturn(Single.just(true));
+        when(favoriteStore.deleteFavoriteMovie(any())).thenReturn(Single.just(true));
+
+        final IFavoriteMovieCollection favorite = new FavoriteMovieCollection(favoriteStore, entityStore);
+        favorite.load().test().await().assertNoErrors();
+        final Movie movie1 = new Movie(service, entityStore, movie1Data);
+        favorite.addToFavorite(movie1).test().await().assertNoErrors();
+        assertEquals("Favorite movie list should contain two items.", 2, favorite.getMovies().size());
+
+        final ICollectionObserver collectionObserver = mock(ICollectionObserver.class);
+        favorite.addObserver(collectionObserver);
+
+        // Remove the loaded movie behind the one added to front.
+        final Movie movie2 = favorite.getMovies().get(1);
+        favorite.removeFromFavorite(movie2).test().await().assertNoErrors();
+        verify(collectionObserver).onUpdate(eq(favorite), eq(Action.RemoveItem), eq(movie2), eq(null));
+        assertFalse("isFavorite should be false.", movie2.isFavorite());
+        assertEquals("Favorite movie list should contain exact one item.", 1, favorite.getMovies().size());
+        verifyMovie1(favorite.getMovies().get(0));
+
+        favorite.removeFromFavorite(movie1).test().await().assertNoErrors();
+        assertTrue("Favorite movie list should be empty.", favorite.getMovies().isEmpty());
+
+        // Removed movies can be added again.
+        favorite.addToFavorite(movie2).test().await().assertNoErrors();
+        assertEquals("Favorite movie list should contain exact one item.", 1, favorite.getMovies().size());
+        verifyMovie2(favorite.getMovies().get(0));
+    }
+
+    @Test
+    public void testFullDataLoadedForSummary() throws Exception {
+        final MovieData summary = GSON.fromJson(MOVIE2_JSON, MovieData.class);
+        final MovieData fullData = GSON.fromJson(MOVIE2_FULL_JSON, MovieData.class);
+        final List<MovieData> page = new ArrayList<>(1);
+        page.add(summary);
+        final IFavoriteStore favoriteStore = mock(IFavoriteStore.class);
+        when(favoriteStore.getFavoriteMoviePages(anyInt())).thenReturn(Flowable.just(page));
+        when(favoriteStore.getFavoriteMovie(MOVIE2_ID)).thenReturn(Maybe.just(fullData));
+        when(favoriteStore.getFavoriteMovie(MOVIE1_ID)).thenReturn(Maybe.just(movie1Data));
+        when(favoriteStore.deleteFavoriteMovie(any())).thenReturn(Single.just(true));
+        when(service.getMovieDetails(anyInt())).thenReturn(Single.error(new IOException("Offline")));
+
+        final IFavoriteMovieCollection favorite = new FavoriteMovieCollection(favoriteStore, entityStore);
+        favorite.load().test().await().assertNoErrors();
+        final Movie movie = favorite.getMovies().get(0);
+        assertNull("Overview should not be loaded with the summary.", movie.getOverview());
+
+        // Loaded with the details, even if the details fail to load.
+        final IObserver objectObserver = mock(IObserver.class);
+        movie.addObserver(objectObserver);
+        movie.loadDetails().test().await();
+        assertEquals("Overview does not match.", MOVIE2_OVERVIEW, movie.getOverview());
+        verify(objectObserver).onUpdate(eq(movie), any());
+        verify(favoriteStore).getFavoriteMovie(MOVIE2_ID);
+
+        // Deleted with the full data, and not loaded again.
+        favorite.removeFromFavorite(movie).test().await().assertNoErrors();
+        verify(favoriteStore).deleteFavoriteMovie(eq(fullData));
+        verify(favoriteStore).getFavoriteMovie(MOVIE2_ID);
+        verify(favoriteStore, never()).getFavoriteMovie(MOVIE1_ID);
+    }
+
+    @Test
+    public void testFavoriteChangeShownAtOnce() throws Exception {
+        final SingleSubject<Boolean> addResult = SingleSubject.create();
+        final SingleSubject<Boolean> deleteResult = SingleSubject.create();
+        final SingleSubject<Boolean> addAgainResult = SingleSubject.create();
+        final IFavoriteStore favoriteStore = mock(IFavoriteStore.class);
+        when(favoriteStore.addFavoriteMovie(any())).thenReturn(addResult, addAgainResult);
+        when(favoriteStore.deleteFavoriteMovie(any())).thenReturn(deleteResult);
+
+        final IFavoriteMovieCollection favorite = new FavoriteMovieCollection(favoriteStore, entityStore);
+        final Movie movie = new Movie(service, entityStore, movie1Data);
+
+        // Shown before the write completes.
+        final TestObserver<Boolean> add = favorite.addToFavorite(movie).test();
+        assertTrue("isFavorite should be true.", movie.isFavorite());
+        assertEquals("Favorite movie list should contain exact one item.", 1, favorite.getMovies().size());
+
+        // A replaced change does not move the state back.
+        final TestObserver<Boolean> delete = favorite.removeFromFavorite(movie).test();
+        assertFalse("isFavorite should be false.", movie.isFavorite());
+        addResult.onSuccess(false);
+        add.assertResult(false);
+        deleteResult.onSuccess(true);
+        delete.assertResult(true);
+        assertFalse("isFavorite should be false.", movie.isFavorite());
+        assertTrue("Favorite movie list should be empty.", favorite.getMovies().isEmpty());
+
+        // A failed change moves the state back.
+        final TestObserver<Boolean> addAgain = favorite.addToFavorite(movie).test();
+        assertTrue("isFavorite should be true.", movie.isFavorite());
+        addAgainResult.onError(new IOException("Disk full"));
+        addAgain.assertError(IOException.class);
+        assertFalse("isFavorite should be false.", movie.isFavorite());
+        assertTrue("Favorite movie list should be empty.", favorite.getMovies().isEmpty());
+    }
+
     // endregion
 
     // region Private Methods
@@ -19,10 +19,16 @@ package com.github.brianspace.moviebrowser.models;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,10 +41,17 @@ import com.github.brianspace.moviebrowser.repository.data.PagingEnvelope;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import io.reactivex.Completable;
 import io.reactivex.Single;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.SingleSubject;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -77,6 +90,21 @@ public class ModelsTest {
     private static final String MOVIE2_JSON = "{\"id\": " + MOVIE2_ID + ", \"title\": \"" + MOVIE2_TITLE
             + "\", \"poster_path\": \"" + MOVIE2_POSTER_FILE + "\"}";
 
+    // ----------- Values for paging -----------
+
+    private static final int PAGE_COUNT = 1000;
+    private static final int PAGE_SIZE = 20;
+    /**
+     * The last movie of each page is repeated as the first movie of the next page.
+     */
+    private static final int UNIQUE_PER_PAGE = PAGE_SIZE - 1;
+    /**
+     * Loading all the pages takes well under a second when de-duplication is O(1) per movie.
+     */
+    private static final long MANY_PAGES_TIMEOUT_MS = 10_000;
+    private static final long PREFETCH_TIMEOUT_MS = 1000;
+    private static final long BOOTSTRAP_DELAY_MS = 100;
+
     // endregion
 
     // region Private Fields
@@ -137,10 +165,198 @@ public class ModelsTest {
         testMovieList(nowPlayingMovies);
     }
 
+    @Test
+    public void testConcurrentMovieModelCreation() throws Exception {
+        final int threadCount = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        final List<Future<Movie>> results = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; ++i) {
+            results.add(executor.submit(() -> {
+                startSignal.await();
+                return entityStore.getMovieModel(movie1Data);
+            }));
+        }
+
+        startSignal.countDown();
+        final Movie first = results.get(0).get();
+        for (final Future<Movie> result : results) {
+            assertSame("Only one movie model should be created for an ID.", first, result.get());
+        }
+
+        executor.shutdown();
+    }
+
+    @Test(timeout = MANY_PAGES_TIMEOUT_MS)
+    public void testManyPagesDeduplicated() throws Exception {
+        final List<PagingEnvelope<MovieData>> pages = createPages();
+        when(service.getMovieNowPlaying(isNull())).thenReturn(Single.just(pages.get(0)));
+        when(service.getMovieNowPlaying(any(PagingEnvelope.class))).thenAnswer(invocation -> {
+            final PagingEnvelope<?> prev = invocation.getArgument(0);
+            return Single.just(pages.get(prev.getPage()));
+        });
+
+        final NowPlayingMovieCollection nowPlayingMovies = new NowPlayingMovieCollection(service, entityStore);
+        for (int i = 0; i < PAGE_COUNT; ++i) {
+            final TestObserver<Void> page = i == 0 ? nowPlayingMovies.load().test()
+                    : nowPlayingMovies.loadNextPage().test();
+            page.await();
+            page.assertNoErrors();
+        }
+
+        assertFalse("hasNexPage should be false.", nowPlayingMovies.hasNexPage());
+        final List<Movie> movies = nowPlayingMovies.getMovies();
+        assertEquals("Duplicated movies should be dropped.", PAGE_COUNT * UNIQUE_PER_PAGE + 1, movies.size());
+        for (int index = 0; index < movies.size(); ++index) {
+            assertEquals("Movies should be kept in page order.", index + 1, movies.get(index).getId());
+        }
+
+        // A movie seen again after a refresh is added again.
+        final TestObserver<Void> refresh = nowPlayingMovies.refresh().test();
+        refresh.await();
+        refresh.assertNoErrors();
+        assertEquals("Refresh should only keep the first page.", PAGE_SIZE, nowPlayingMovies.getMovies().size());
+    }
+
+    @Test
+    public void testNextPagePrefetched() throws Exception {
+        final List<PagingEnvelope<MovieData>> pages = createPages();
+        when(service.getMovieNowPlaying(isNull())).thenReturn(Single.just(pages.get(0)));
+        when(service.getMovieNowPlaying(any(PagingEnvelope.class))).thenAnswer(invocation -> {
+            final PagingEnvelope<?> prev = invocation.getArgument(0);
+            return Single.just(pages.get(prev.getPage()));
+        });
+
+        final NowPlayingMovieCollection nowPlayingMovies = new NowPlayingMovieCollection(service, entityStore);
+        nowPlayingMovies.setPrefetchDepth(2);
+        final TestObserver<Void> firstPage = nowPlayingMovies.load().test();
+        firstPage.await();
+        firstPage.assertNoErrors();
+
+        // The next pages are requested without calling loadNextPage().
+        verify(service, timeout(PREFETCH_TIMEOUT_MS)).getMovieNowPlaying(pages.get(0));
+        verify(service, timeout(PREFETCH_TIMEOUT_MS)).getMovieNowPlaying(pages.get(1));
+
+        final TestObserver<Void> nextPage = nowPlayingMovies.loadNextPage().test();
+        nextPage.await();
+        nextPage.assertNoErrors();
+        assertEquals("The prefetched page should be loaded.", PAGE_SIZE + UNIQUE_PER_PAGE,
+                nowPlayingMovies.getMovies().size());
+
+        // Loading the prefetched page moves the window forward, and no page is requested twice.
+        verify(service, timeout(PREFETCH_TIMEOUT_MS)).getMovieNowPlaying(pages.get(2));
+        verify(service, times(1)).getMovieNowPlaying(pages.get(0));
+        verify(service, times(1)).getMovieNowPlaying(pages.get(1));
+    }
+
+    @Test
+    public void testFollowingPagesBootstrapped() throws Exception {
+        final List<PagingEnvelope<MovieData>> pages = createPages();
+        when(service.getMovieNowPlaying(isNull())).thenReturn(Single.just(pages.get(0)));
+        // Page 2 arrives after page 3.
+        when(service.getMovieNowPlayingPage(2))
+                .thenReturn(Single.just(pages.get(1)).delay(BOOTSTRAP_DELAY_MS, TimeUnit.MILLISECONDS));
+        when(service.getMovieNowPlayingPage(3)).thenReturn(Single.just(pages.get(2)));
+        when(service.getMovieNowPlaying(any(PagingEnvelope.class))).thenAnswer(invocation -> {
+            final PagingEnvelope<?> prev = invocation.getArgument(0);
+            return Single.just(pages.get(prev.getPage()));
+        });
+
+        final NowPlayingMovieCollection nowPlayingMovies = new NowPlayingMovieCollection(service, entityStore);
+        nowPlayingMovies.setBootstrapPageCount(2);
+        final TestObserver<Void> testObserver = nowPlayingMovies.load().test();
+        testObserver.await();
+        testObserver.assertNoErrors();
+
+        final List<Movie> movies = nowPlayingMovies.getMovies();
+        assertEquals("The first 3 pages should be loaded.", PAGE_SIZE + 2 * UNIQUE_PER_PAGE, movies.size());
+        for (int index = 0; index < movies.size(); ++index) {
+            assertEquals("Movies should be kept in page order.", index + 1, movies.get(index).getId());
+        }
+
+        // The pages after the first one are not requested one by one.
+        verify(service, never()).getMovieNowPlaying(pages.get(0));
+        verify(service, never()).getMovieNowPlaying(pages.get(1));
+    }
+
+    @Test
+    public void testPageWithOnlySkippedMovies() throws Exception {
+        final List<PagingEnvelope<MovieData>> pages = createPages();
+        // All the movies of page 2 were invalid and skipped when decoding.
+        final PagingEnvelope<MovieData> skippedPage = new PagingEnvelope<>(PAGE_COUNT, PAGE_COUNT * PAGE_SIZE, 2,
+                new ArrayList<>(), PAGE_SIZE);
+        when(service.getMovieNowPlaying(isNull())).thenReturn(Single.just(pages.get(0)));
+        when(service.getMovieNowPlaying(pages.get(0))).thenReturn(Single.just(skippedPage));
+        when(service.getMovieNowPlaying(skippedPage)).thenReturn(Single.just(pages.get(2)));
+
+        final NowPlayingMovieCollection nowPlayingMovies = new NowPlayingMovieCollection(service, entityStore);
+        nowPlayingMovies.setPrefetchDepth(0);
+        for (int i = 0; i < 3; ++i) {
+            final TestObserver<Void> page = i == 0 ? nowPlayingMovies.load().test()
+                    : nowPlayingMovies.loadNextPage().test();
+            page.await();
+            page.assertNoErrors();
+        }
+
+        // The page after the skipped one is loaded.
+        verify(service, times(1)).getMovieNowPlaying(skippedPage);
+        assertEquals("The movies of pages 1 and 3 should be loaded.", 2 * PAGE_SIZE,
+                nowPlayingMovies.getMovies().size());
+    }
+
+    @Test
+    public void testStalePageDroppedAfterRefresh() throws Exception {
+        final List<PagingEnvelope<MovieData>> pages = createPages();
+        final SingleSubject<PagingEnvelope<MovieData>> stalePage = SingleSubject.create();
+        when(service.getMovieNowPlaying(isNull())).thenReturn(Single.just(pages.get(0)));
+        when(service.getMovieNowPlaying(pages.get(0))).thenReturn(stalePage);
+
+        final NowPlayingMovieCollection nowPlayingMovies = new NowPlayingMovieCollection(service, entityStore);
+        nowPlayingMovies.setPrefetchDepth(0);
+        final TestObserver<Void> firstPage = nowPlayingMovies.load().test();
+        firstPage.await();
+        firstPage.assertNoErrors();
+
+        // Callers share the request in progress.
+        final Completable nextPage = nowPlayingMovies.loadNextPage();
+        assertSame("The request in progress should be shared.", nextPage, nowPlayingMovies.loadNextPage());
+        final TestObserver<Void> nextPageObserver = nextPage.test();
+        nextPage.test();
+        assertTrue("isLoading should be true.", nowPlayingMovies.isLoading());
+
+        // Refresh supersedes the next page request, whose result arrives after that.
+        final TestObserver<Void> refresh = nowPlayingMovies.refresh().test();
+        refresh.await();
+        refresh.assertNoErrors();
+        stalePage.onSuccess(pages.get(1));
+        nextPageObserver.await();
+        nextPageObserver.assertNoErrors();
+
+        assertFalse("isLoading should be false.", nowPlayingMovies.isLoading());
+        assertEquals("The stale page should be dropped.", PAGE_SIZE, nowPlayingMovies.getMovies().size());
+        verify(service, times(1)).getMovieNowPlaying(pages.get(0));
+    }
+
     // endregion
 
     // region Private Methods
 
+    private static List<PagingEnvelope<MovieData>> createPages() {
+        final List<PagingEnvelope<MovieData>> pages = new ArrayList<>(PAGE_COUNT);
+        for (int page = 1; page <= PAGE_COUNT; ++page) {
+            final List<MovieData> results = new ArrayList<>(PAGE_SIZE);
+            final int firstId = (page - 1) * UNIQUE_PER_PAGE + 1;
+            for (int id = firstId; id < firstId + PAGE_SIZE; ++id) {
+                results.add(GSON.fromJson("{\"id\": " + id + ", \"title\": \"movie " + id
+                        + "\", \"poster_path\": \"" + id + ".jpg\"}", MovieData.class));
+            }
+
+            pages.add(new PagingEnvelope<>(PAGE_COUNT, PAGE_COUNT * PAGE_SIZE, page, results));
+        }
+
+        return pages;
+    }
+
     private void testMovieList(final IMovieCollection movies) throws InterruptedException {
         final ICollectionObserver collectionObserver = mock(ICollectionObserver.class);
         movies.addObserver(collectionObserver);
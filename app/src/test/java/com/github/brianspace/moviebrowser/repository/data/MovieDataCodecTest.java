@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.moviebrowser.repository.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MovieDataCodec}.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class MovieDataCodecTest {
+
+    // region Private Constants
+
+    private static final Gson GSON = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .create();
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final int ROW_COUNT = 10000;
+
+    private static final int BENCHMARK_TIMEOUT_MS = 10000;
+
+    private static final String MOVIE_JSON = "{\"id\": %d, \"adult\": false, \"title\": \"Movie %d\","
+            + " \"original_title\": \"Película %d\", \"original_language\": \"es\","
+            + " \"overview\": \"A long enough overview of the movie, as returned by TMDb for movie %d.\","
+            + " \"release_date\": \"2018-05-01\", \"poster_path\": \"/poster%d.jpg\","
+            + " \"backdrop_path\": \"/backdrop%d.jpg\", \"genre_ids\": [18, 28, 35], \"video\": false,"
+            + " \"popularity\": 123.45, \"vote_average\": 7.5, \"vote_count\": 1234}";
+
+    // endregion
+
+    // region Public Methods
+
+    @Test
+    public void testRoundTrip() {
+        final MovieData movie = createMovie(42);
+        final MovieData result = MovieDataCodec.decode(MovieDataCodec.encode(movie));
+        assertEquals("Decoded movie does not match.", GSON.toJson(movie), GSON.toJson(result));
+        assertEquals("Original title does not match.", "Película 42", result.getOriginalTitle());
+        assertArrayEquals("Genre IDs do not match.", new int[]{18, 28, 35}, result.getGenreIds());
+    }
+
+    @Test
+    public void testRoundTripWithNulls() {
+        final MovieData movie = GSON.fromJson("{\"id\": 1, \"title\": \"Title\"}", MovieData.class);
+        final MovieData result = MovieDataCodec.decode(MovieDataCodec.encode(movie));
+        assertEquals("ID does not match.", 1, result.getId());
+        assertEquals("Title does not match.", "Title", result.getTitle());
+        assertNull("Overview should be null.", result.getOverview());
+        assertNull("Poster path should be null.", result.getPosterPath());
+        assertEquals("Decoded movie does not match.", GSON.toJson(movie), GSON.toJson(result));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVersionRejected() {
+        final byte[] data = MovieDataCodec.encode(createMovie(1));
+        data[0] = Byte.MAX_VALUE;
+        MovieDataCodec.decode(data);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedDataRejected() {
+        final byte[] data = MovieDataCodec.encode(createMovie(1));
+        MovieDataCodec.decode(Arrays.copyOf(data, data.length / 2));
+    }
+
+    /**
+     * Encode and decode a favorite table sized list of movies, the binary data should be smaller than JSON.
+     * Times are not asserted, since they depend on the machine.
+     */
+    @Test(timeout = BENCHMARK_TIMEOUT_MS)
+    public void testManyRows() {
+        final List<MovieData> movies = new ArrayList<>(ROW_COUNT);
+        for (int id = 1; id <= ROW_COUNT; ++id) {
+            movies.add(createMovie(id));
+        }
+
+        long jsonSize = 0;
+        final List<String> jsonRows = new ArrayList<>(ROW_COUNT);
+        for (final MovieData movie : movies) {
+            final String json = GSON.toJson(movie);
+            jsonSize += json.getBytes(UTF8).length;
+            jsonRows.add(json);
+        }
+
+        long binarySize = 0;
+        final List<byte[]> binaryRows = new ArrayList<>(ROW_COUNT);
+        for (final MovieData movie : movies) {
+            final byte[] data = MovieDataCodec.encode(movie);
+            binarySize += data.length;
+            binaryRows.add(data);
+        }
+
+        assertTrue("Binary data should be smaller than JSON.", binarySize < jsonSize);
+
+        for (int i = 0; i < ROW_COUNT; ++i) {
+            final MovieData fromJson = GSON.fromJson(jsonRows.get(i), MovieData.class);
+            final MovieData fromBinary = MovieDataCodec.decode(binaryRows.get(i));
+            assertEquals("ID does not match.", fromJson.getId(), fromBinary.getId());
+            assertEquals("Overview does not match.", fromJson.getOverview(), fromBinary.getOverview());
+        }
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private static MovieData createMovie(final int id) {
+        return GSON.fromJson(String.format(MOVIE_JSON, id, id, id, id, id, id), MovieData.class);
+    }
+
+    // endregion
+}
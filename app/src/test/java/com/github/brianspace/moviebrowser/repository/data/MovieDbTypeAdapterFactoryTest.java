@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.moviebrowser.repository.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MovieDbTypeAdapterFactory}, comparing the streaming adapters with the reflective ones over
+ * sample payloads in the TMDb response format.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class MovieDbTypeAdapterFactoryTest {
+
+    // region Private Constants
+
+    private static final Gson REFLECTIVE_GSON = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .create();
+
+    private static final Gson STREAMING_GSON = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .registerTypeAdapterFactory(new MovieDbTypeAdapterFactory())
+            .create();
+
+    private static final Type MOVIE_PAGE_TYPE = new TypeToken<PagingEnvelope<MovieData>>() {}.getType();
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final int BUFFER_SIZE = 4096;
+
+    // endregion
+
+    // region Public Methods
+
+    @Test
+    public void testDecodeMoviePage() throws IOException {
+        final String json = readResource("tmdb/now_playing_page.json");
+        final PagingEnvelope<MovieData> expected = REFLECTIVE_GSON.fromJson(json, MOVIE_PAGE_TYPE);
+        final PagingEnvelope<MovieData> actual = STREAMING_GSON.fromJson(json, MOVIE_PAGE_TYPE);
+
+        assertEquals("Page does not match.", expected.getPage(), actual.getPage());
+        assertEquals("Total pages do not match.", expected.getTotalPages(), actual.getTotalPages());
+        assertEquals("Total results do not match.", expected.getTotalResults(), actual.getTotalResults());
+        assertEquals("Result count does not match.", expected.getResults().size(), actual.getResults().size());
+        for (int i = 0; i < expected.getResults().size(); ++i) {
+            assertEquals("Movie does not match.", REFLECTIVE_GSON.toJson(expected.getResults().get(i)),
+                    REFLECTIVE_GSON.toJson(actual.getResults().get(i)));
+        }
+    }
+
+    @Test
+    public void testDecodeMovieDetails() throws IOException {
+        final String json = readResource("tmdb/movie_details.json");
+        final MovieDetailsData expected = REFLECTIVE_GSON.fromJson(json, MovieDetailsData.class);
+        final MovieDetailsData actual = STREAMING_GSON.fromJson(json, MovieDetailsData.class);
+
+        assertNotNull("Collection should be decoded.", actual.getBelongsToCollection());
+        assertEquals("Country does not match.", "US", actual.getProductionCountries().iterator().next().getShortName());
+        assertEquals("Movie details do not match.", REFLECTIVE_GSON.toJson(expected), REFLECTIVE_GSON.toJson(actual));
+    }
+
+    @Test
+    public void testDecodeConfiguration() throws IOException {
+        final String json = readResource("tmdb/configuration.json");
+        final Configuration expected = REFLECTIVE_GSON.fromJson(json, Configuration.class);
+        final Configuration actual = STREAMING_GSON.fromJson(json, Configuration.class);
+
+        assertEquals("Base URL does not match.", "https://image.tmdb.org/t/p/",
+                actual.getImageConfig().getSecureBaseUrl());
+        assertEquals("Configuration does not match.", REFLECTIVE_GSON.toJson(expected),
+                REFLECTIVE_GSON.toJson(actual));
+    }
+
+    @Test
+    public void testNullAndUnknownFields() {
+        final MovieData movie = STREAMING_GSON.fromJson("{\"id\": 1, \"title\": null, \"vote_count\": null,"
+                + " \"genre_ids\": null, \"unknown\": {\"values\": [1, {\"a\": null}]}, \"poster_path\": \"/p.jpg\"}",
+                MovieData.class);
+        assertEquals("ID does not match.", 1, movie.getId());
+        assertNull("Title should be null.", movie.getTitle());
+        assertEquals("Vote count should be the default.", 0, movie.getVoteCount());
+        assertEquals("Poster path does not match.", "/p.jpg", movie.getPosterPath());
+        assertNull("Null page should be decoded as null.", STREAMING_GSON.fromJson("null", MOVIE_PAGE_TYPE));
+    }
+
+    @Test
+    public void testSkipInvalidMovies() {
+        final String json = "{\"page\": 2, \"total_pages\": 3, \"total_results\": 60, \"results\": ["
+                + "{\"id\": 1, \"title\": \"Movie 1\", \"poster_path\": \"/1.jpg\"},"
+                + "{\"id\": 2, \"title\": \"Movie 2\", \"overview\": \"No poster.\", \"genre_ids\": [18]},"
+                + "{\"id\": 3, \"poster_path\": \"/3.jpg\"},"
+                + "{\"title\": \"Movie 4\", \"poster_path\": \"/4.jpg\"},"
+                + "null,"
+                + "{\"id\": 5, \"title\": \"Movie 5\", \"poster_path\": \"/5.jpg\"}]}";
+        final PagingEnvelope<MovieData> page = STREAMING_GSON.fromJson(json, MOVIE_PAGE_TYPE);
+
+        assertEquals("Page does not match.", 2, page.getPage());
+        assertEquals("Result count does not match.", 2, page.getResults().size());
+        assertEquals("Skipped count does not match.", 4, page.getSkippedResults());
+        assertEquals("First ID does not match.", 1, page.getResults().get(0).getId());
+
+        // The movie decoded after the skipped ones should not keep their fields.
+        final MovieData last = page.getResults().get(1);
+        assertEquals("Last ID does not match.", 5, last.getId());
+        assertNull("Overview should not be left from a skipped movie.", last.getOverview());
+        assertEquals("Last movie does not match.", REFLECTIVE_GSON.toJson(REFLECTIVE_GSON.fromJson(
+                "{\"id\": 5, \"title\": \"Movie 5\", \"poster_path\": \"/5.jpg\"}", MovieData.class)),
+                REFLECTIVE_GSON.toJson(last));
+    }
+
+    @Test
+    public void testKeepNullsInOtherPages() {
+        final Type type = new TypeToken<PagingEnvelope<String>>() {}.getType();
+        final PagingEnvelope<String> page = STREAMING_GSON.fromJson(
+                "{\"page\": 1, \"results\": [\"a\", null, \"b\"]}", type);
+        assertEquals("Result count does not match.", 3, page.getResults().size());
+        assertNull("Null result should be kept.", page.getResults().get(1));
+        assertEquals("Nothing should be skipped.", 0, page.getSkippedResults());
+    }
+
+    @Test
+    public void testEncodeUnchanged() throws IOException {
+        final MovieDetailsData movie = REFLECTIVE_GSON.fromJson(readResource("tmdb/movie_details.json"),
+                MovieDetailsData.class);
+        assertEquals("Encoded JSON does not match.", REFLECTIVE_GSON.toJson(movie), STREAMING_GSON.toJson(movie));
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private static String readResource(final String path) throws IOException {
+        final InputStream input = MovieDbTypeAdapterFactoryTest.class.getClassLoader().getResourceAsStream(path);
+        assertNotNull("Resource not found: " + path, input);
+        try {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int length;
+            while ((length = input.read(buffer)) > 0) {
+                output.write(buffer, 0, length);
+            }
+
+            return new String(output.toByteArray(), UTF8);
+        } finally {
+            input.close();
+        }
+    }
+
+    // endregion
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.moviebrowser.repository.local;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.github.brianspace.moviebrowser.repository.data.MovieData;
+import com.google.gson.Gson;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link FavoriteWriteQueue}.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class FavoriteWriteQueueTest {
+
+    // region Private Constants
+
+    private static final Gson GSON = new Gson();
+
+    private static final long DELAY_MS = 300;
+
+    private static final long WAIT_MS = 200;
+
+    // endregion
+
+    // region Private Fields
+
+    private TestScheduler scheduler;
+
+    private List<List<MovieData>> writtenAdds;
+
+    private List<int[]> writtenDeletes;
+
+    private FavoriteWriteQueue queue;
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Code to run before each test.
+     */
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+        writtenAdds = new ArrayList<>();
+        writtenDeletes = new ArrayList<>();
+        queue = new FavoriteWriteQueue((addedMovies, deletedIds) -> {
+            writtenAdds.add(addedMovies);
+            writtenDeletes.add(deletedIds);
+        }, scheduler, DELAY_MS);
+    }
+
+    @Test
+    public void testChangesWrittenTogether() {
+        final TestObserver<Boolean> add1 = queue.add(createMovie(1)).test();
+        final TestObserver<Boolean> add2 = queue.add(createMovie(2)).test();
+        final TestObserver<Boolean> delete3 = queue.delete(createMovie(3)).test();
+
+        scheduler.advanceTimeBy(DELAY_MS - 1, TimeUnit.MILLISECONDS);
+        assertTrue("Nothing should be written before the delay.", writtenAdds.isEmpty());
+
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals("Changes should be written in one batch.", 1, writtenAdds.size());
+        assertEquals("Added movie count does not match.", 2, writtenAdds.get(0).size());
+        assertEquals("Added movie does not match.", 1, writtenAdds.get(0).get(0).getId());
+        assertEquals("Added movie does not match.", 2, writtenAdds.get(0).get(1).getId());
+        assertArrayEquals("Deleted IDs do not match.", new int[]{3}, writtenDeletes.get(0));
+        add1.assertResult(true);
+        add2.assertResult(true);
+        delete3.assertResult(true);
+    }
+
+    @Test
+    public void testToggleCoalesced() {
+        final MovieData movie = createMovie(1);
+        final TestObserver<Boolean> add = queue.add(movie).test();
+        final TestObserver<Boolean> delete = queue.delete(movie).test();
+
+        // The replaced change is resolved at once, without waiting for the write.
+        add.assertResult(false);
+        delete.assertNotComplete();
+
+        scheduler.advanceTimeBy(DELAY_MS, TimeUnit.MILLISECONDS);
+        assertEquals("Changes should be written in one batch.", 1, writtenAdds.size());
+        assertTrue("Only the last change should be written.", writtenAdds.get(0).isEmpty());
+        assertArrayEquals("Deleted IDs do not match.", new int[]{1}, writtenDeletes.get(0));
+        delete.assertResult(true);
+
+        // Later changes are written in a new batch.
+        queue.add(movie).test();
+        scheduler.advanceTimeBy(DELAY_MS, TimeUnit.MILLISECONDS);
+        assertEquals("Later changes should be written in a new batch.", 2, writtenAdds.size());
+    }
+
+    @Test
+    public void testWriteError() {
+        final IllegalStateException error = new IllegalStateException("Disk full");
+        queue = new FavoriteWriteQueue((addedMovies, deletedIds) -> {
+            throw error;
+        }, scheduler, DELAY_MS);
+
+        final TestObserver<Boolean> add = queue.add(createMovie(1)).test();
+        scheduler.advanceTimeBy(DELAY_MS, TimeUnit.MILLISECONDS);
+        add.assertError(error);
+    }
+
+    @Test
+    public void testDiscard() {
+        final TestObserver<Boolean> add = queue.add(createMovie(1)).test();
+        queue.discard();
+        add.assertResult(false);
+
+        // The discarded write is cancelled, so it does not write the later changes before their delay.
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        queue.add(createMovie(2)).test();
+        scheduler.advanceTimeBy(DELAY_MS - 1, TimeUnit.MILLISECONDS);
+        assertTrue("Nothing should be written before the delay.", writtenAdds.isEmpty());
+
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals("Later changes should be written.", 1, writtenAdds.size());
+        assertEquals("Discarded changes should not be written.", 2, writtenAdds.get(0).get(0).getId());
+    }
+
+    @Test
+    public void testDiscardWaitsForWrite() throws InterruptedException {
+        final CountDownLatch writeStarted = new CountDownLatch(1);
+        final CountDownLatch writeReleased = new CountDownLatch(1);
+        queue = new FavoriteWriteQueue((addedMovies, deletedIds) -> {
+            writeStarted.countDown();
+            try {
+                writeReleased.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, scheduler, DELAY_MS);
+
+        queue.add(createMovie(1)).test();
+        final Thread flushThread = new Thread(() -> scheduler.advanceTimeBy(DELAY_MS, TimeUnit.MILLISECONDS));
+        flushThread.start();
+        writeStarted.await();
+
+        final CountDownLatch discarded = new CountDownLatch(1);
+        final Thread discardThread = new Thread(() -> {
+            queue.discard();
+            discarded.countDown();
+        });
+        discardThread.start();
+        assertFalse("Discard should wait for the write in progress.",
+                discarded.await(WAIT_MS, TimeUnit.MILLISECONDS));
+
+        writeReleased.countDown();
+        assertTrue("Discard should return after the write.", discarded.await(WAIT_MS, TimeUnit.MILLISECONDS));
+        flushThread.join();
+        discardThread.join();
+    }
+
+    @Test
+    public void testUpdateWithPendingChanges() {
+        final TestObserver<Boolean> add1 = queue.add(createMovie(1)).test();
+        final TestObserver<Boolean> add2 = queue.add(createMovie(2)).test();
+
+        final List<MovieData> addedMovies = new ArrayList<>(1);
+        addedMovies.add(createMovie(3));
+        final List<MovieData> deletedMovies = new ArrayList<>(1);
+        deletedMovies.add(createMovie(2));
+        final TestObserver<Boolean> update = queue.update(addedMovies, deletedMovies).test();
+
+        // Written at once, together with the pending changes.
+        assertEquals("Changes should be written in one batch.", 1, writtenAdds.size());
+        assertEquals("Added movie count does not match.", 2, writtenAdds.get(0).size());
+        assertEquals("Added movie does not match.", 1, writtenAdds.get(0).get(0).getId());
+        assertEquals("Added movie does not match.", 3, writtenAdds.get(0).get(1).getId());
+        assertArrayEquals("Deleted IDs do not match.", new int[]{2}, writtenDeletes.get(0));
+        add1.assertResult(true);
+        add2.assertResult(false);
+        update.assertResult(true);
+
+        scheduler.advanceTimeBy(DELAY_MS, TimeUnit.MILLISECONDS);
+        assertEquals("Written changes should not be written again.", 1, writtenAdds.size());
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private static MovieData createMovie(final int id) {
+        return GSON.fromJson("{\"id\": " + id + "}", MovieData.class);
+    }
+
+    // endregion
+}
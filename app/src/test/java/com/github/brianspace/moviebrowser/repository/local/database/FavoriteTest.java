@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.moviebrowser.repository.local.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.github.brianspace.moviebrowser.repository.data.MovieData;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Favorite}: reading the rows without valid stored data.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class FavoriteTest {
+
+    // region Private Constants
+
+    private static final int MOVIE_ID = 100;
+    private static final String TITLE = "Star Wars";
+    private static final String POSTER = "/poster.jpg";
+    private static final float VOTE_AVERAGE = 8.5f;
+    private static final float DELTA = 0.0001f;
+
+    // endregion
+
+    // region Public Methods
+
+    @Test
+    public void testParseInvalidJson() {
+        assertNull(Favorite.parseJson(null));
+        assertNull(Favorite.parseJson("{not json"));
+        assertEquals(MOVIE_ID, Favorite.parseJson("{\"id\": " + MOVIE_ID + "}").getId());
+    }
+
+    @Test
+    public void testToMovieWithoutData() {
+        final Favorite favorite = new Favorite();
+        favorite.id = MOVIE_ID;
+        favorite.title = TITLE;
+        favorite.poster = POSTER;
+        favorite.voteAverage = VOTE_AVERAGE;
+
+        final MovieData movie = favorite.toMovie();
+        assertEquals(MOVIE_ID, movie.getId());
+        assertEquals(TITLE, movie.getTitle());
+        assertEquals(POSTER, movie.getPosterPath());
+        assertEquals(VOTE_AVERAGE, movie.getVoteAverage(), DELTA);
+        assertNull(movie.getOverview());
+    }
+
+    // endregion
+}
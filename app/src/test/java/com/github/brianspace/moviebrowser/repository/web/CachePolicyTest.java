@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.moviebrowser.repository.web;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import com.github.brianspace.moviebrowser.repository.Constants;
+import com.github.brianspace.moviebrowser.repository.util.FileUtil;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the HTTP cache policy of the TMDb Web API client, against a local server.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class CachePolicyTest {
+
+    // region Private Constants
+
+    private static final String CONFIGURATION_PATH = "/3/configuration";
+
+    private static final String NOW_PLAYING_PATH = "/3/movie/now_playing";
+
+    private static final String MOVIE_DETAILS_PATH = "/3/movie/42";
+
+    private static final String SIMILAR_MOVIES_PATH = "/3/movie/42/similar";
+
+    private static final long REFRESH_TIMEOUT_MS = 5000;
+
+    private static final long POLL_INTERVAL_MS = 10;
+
+    // endregion
+
+    // region Public Fields
+
+    /**
+     * Folder for the HTTP cache.
+     */
+    @Rule
+    public final TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    // endregion
+
+    // region Private Fields
+
+    private MockWebServer server;
+
+    private OkHttpClient apiClient;
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Start the local server and create the client before each test.
+     */
+    @Before
+    public void setUp() throws Exception {
+        final Context mockContext = mock(Context.class);
+        final Context mockAppContext = mock(Context.class);
+        when(mockContext.getApplicationContext()).thenReturn(mockAppContext);
+        when(mockAppContext.getExternalCacheDir()).thenReturn(cacheFolder.getRoot());
+        FileUtil.init(mockContext);
+
+        server = new MockWebServer();
+        server.start();
+        apiClient = MovieDbAdapterProvider.createOkHttpClient(MovieDbAdapterProvider.createBaseOkHttpClient());
+    }
+
+    /**
+     * Stop the local server after each test.
+     */
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testPolicyForEndpoints() {
+        assertEquals("Policy for configuration does not match.",
+                CachePolicy.CONFIGURATION, CachePolicy.forUrl(server.url(CONFIGURATION_PATH)));
+        assertEquals("Policy for now playing does not match.",
+                CachePolicy.NOW_PLAYING, CachePolicy.forUrl(server.url(NOW_PLAYING_PATH + "?page=2")));
+        assertEquals("Policy for movie details does not match.",
+                CachePolicy.MOVIE_DETAILS, CachePolicy.forUrl(server.url(MOVIE_DETAILS_PATH)));
+        assertNull("Similar movies should use the server headers.",
+                CachePolicy.forUrl(server.url(SIMILAR_MOVIES_PATH)));
+    }
+
+    @Test
+    public void testServerHeadersOverridden() throws Exception {
+        server.enqueue(new MockResponse().setHeader("Cache-Control", "no-store").setBody("configuration"));
+
+        final HttpUrl url = server.url(CONFIGURATION_PATH);
+        assertEquals("Body does not match.", "configuration", execute(url).body);
+        final Result cached = execute(url);
+        assertEquals("Cached body does not match.", "configuration", cached.body);
+        assertNotNull("Second response should be from the cache.", cached.cacheResponse);
+        assertEquals("Only one request should reach the server.", 1, server.getRequestCount());
+    }
+
+    @Test
+    public void testExpiredNowPlayingRequested() throws Exception {
+        server.enqueue(new MockResponse().setHeader("Date", secondsAgo(Constants.CACHE_MAX_AGE_NOW_PLAYING + 60))
+                .setBody("old"));
+        server.enqueue(new MockResponse().setBody("new"));
+
+        final HttpUrl url = server.url(NOW_PLAYING_PATH);
+        assertEquals("Body does not match.", "old", execute(url).body);
+        assertEquals("Expired page should be requested again.", "new", execute(url).body);
+        assertEquals("Both requests should reach the server.", 2, server.getRequestCount());
+    }
+
+    @Test(timeout = REFRESH_TIMEOUT_MS)
+    public void testStaleMovieDetailsRevalidated() throws Exception {
+        server.enqueue(new MockResponse().setHeader("Date", secondsAgo(Constants.CACHE_MAX_AGE_MOVIE_DETAILS + 60))
+                .setBody("old"));
+        server.enqueue(new MockResponse().setBody("new"));
+
+        final HttpUrl url = server.url(MOVIE_DETAILS_PATH);
+        assertEquals("Body does not match.", "old", execute(url).body);
+
+        // The stale details are returned at once, and refreshed in the background.
+        final Result stale = execute(url);
+        assertEquals("Stale body should be returned.", "old", stale.body);
+        assertNull("Stale body should not wait for the network.", stale.networkResponse);
+        server.takeRequest();
+        server.takeRequest();
+        waitForIdle();
+
+        final Result refreshed = execute(url);
+        assertEquals("Refreshed body should be returned.", "new", refreshed.body);
+        assertNull("Refreshed body should be from the cache.", refreshed.networkResponse);
+        assertEquals("Only the refresh should reach the server.", 2, server.getRequestCount());
+    }
+
+    @Test
+    public void testCachedResponseUsedOffline() throws Exception {
+        server.enqueue(new MockResponse().setHeader("Date", secondsAgo(Constants.CACHE_MAX_AGE_NOW_PLAYING + 60))
+                .setBody("cached"));
+
+        final HttpUrl url = server.url(NOW_PLAYING_PATH);
+        assertEquals("Body does not match.", "cached", execute(url).body);
+
+        server.shutdown();
+        assertEquals("Cached body should be returned offline.", "cached", execute(url).body);
+    }
+
+    // endregion
+
+    // region Private Types
+
+    /**
+     * Result of a request, with the body read.
+     */
+    private static class Result {
+        private final String body;
+        private final Response cacheResponse;
+        private final Response networkResponse;
+
+        private Result(final Response response) throws Exception {
+            try {
+                body = response.body().string();
+            } finally {
+                response.close();
+            }
+
+            cacheResponse = response.cacheResponse();
+            networkResponse = response.networkResponse();
+        }
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private Result execute(final HttpUrl url) throws Exception {
+        return new Result(apiClient.newCall(new Request.Builder().url(url).build()).execute());
+    }
+
+    private void waitForIdle() throws InterruptedException {
+        while (apiClient.dispatcher().runningCallsCount() > 0) {
+            TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MS);
+        }
+    }
+
+    private static String secondsAgo(final int seconds) {
+        final DateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format.format(new Date(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(seconds)));
+    }
+
+    // endregion
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.moviebrowser.repository.web;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import com.github.brianspace.moviebrowser.repository.Constants;
+import com.github.brianspace.moviebrowser.repository.util.FileUtil;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the HTTP clients created by {@link MovieDbAdapterProvider}.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class HttpClientTest {
+
+    // region Private Constants
+
+    private static final String API_PATH = "/3/movie/now_playing";
+
+    private static final String IMAGE_PATH = "/t/p/w185/poster.jpg";
+
+    // endregion
+
+    // region Public Fields
+
+    /**
+     * Folder for the HTTP cache.
+     */
+    @Rule
+    public final TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    // endregion
+
+    // region Private Fields
+
+    private MockWebServer server;
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Start the local server before each test.
+     */
+    @Before
+    public void setUp() throws Exception {
+        final Context mockContext = mock(Context.class);
+        final Context mockAppContext = mock(Context.class);
+        when(mockContext.getApplicationContext()).thenReturn(mockAppContext);
+        when(mockAppContext.getExternalCacheDir()).thenReturn(cacheFolder.getRoot());
+        FileUtil.init(mockContext);
+
+        server = new MockWebServer();
+        server.start();
+    }
+
+    /**
+     * Stop the local server after each test.
+     */
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testClientsShareBase() {
+        final OkHttpClient baseClient = MovieDbAdapterProvider.createBaseOkHttpClient();
+        final OkHttpClient apiClient = MovieDbAdapterProvider.createOkHttpClient(baseClient);
+        final OkHttpClient imageClient = MovieDbAdapterProvider.createImageOkHttpClient(baseClient);
+
+        assertSame("API client should share the connection pool.",
+                baseClient.connectionPool(), apiClient.connectionPool());
+        assertSame("Image client should share the connection pool.",
+                baseClient.connectionPool(), imageClient.connectionPool());
+        assertSame("API client should share the dispatcher.", baseClient.dispatcher(), apiClient.dispatcher());
+        assertSame("Image client should share the dispatcher.", baseClient.dispatcher(), imageClient.dispatcher());
+        assertEquals("Maximum requests per host does not match.",
+                Constants.HTTP_MAX_REQUESTS_PER_HOST, baseClient.dispatcher().getMaxRequestsPerHost());
+    }
+
+    @Test
+    public void testConnectionReusedAcrossClients() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("image"));
+
+        final OkHttpClient baseClient = MovieDbAdapterProvider.createBaseOkHttpClient();
+        final OkHttpClient apiClient = MovieDbAdapterProvider.createOkHttpClient(baseClient);
+        final OkHttpClient imageClient = MovieDbAdapterProvider.createImageOkHttpClient(baseClient);
+
+        execute(apiClient, API_PATH);
+        execute(imageClient, IMAGE_PATH);
+
+        assertEquals("API request should be the first on the connection.",
+                0, server.takeRequest().getSequenceNumber());
+        assertEquals("Image request should reuse the connection.", 1, server.takeRequest().getSequenceNumber());
+        assertEquals("Only one connection should be opened.", 1, baseClient.connectionPool().connectionCount());
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private void execute(final OkHttpClient client, final String path) throws Exception {
+        final Request request = new Request.Builder().url(server.url(path)).build();
+        final Response response = client.newCall(request).execute();
+        try {
+            // Read the whole body so that the connection is released to the pool.
+            response.body().string();
+        } finally {
+            response.close();
+        }
+    }
+
+    // endregion
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.moviebrowser.repository.web;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.brianspace.moviebrowser.repository.data.MovieData;
+import com.github.brianspace.moviebrowser.repository.data.MovieDetailsData;
+import com.github.brianspace.moviebrowser.repository.data.PagingEnvelope;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.SingleSubject;
+import java.io.IOException;
+import java.util.ArrayList;
+import okhttp3.OkHttpClient;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for sharing the identical requests in progress in {@link MovieDbService}.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class MovieDbServiceTest {
+
+    // region Private Constants
+
+    private static final int MOVIE_ID = 42;
+
+    private static final int OTHER_MOVIE_ID = 43;
+
+    // endregion
+
+    // region Private Fields
+
+    private IMovieDbApi api;
+
+    private MovieDbService service;
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Create the service with a mock API before each test.
+     */
+    @Before
+    public void setUp() {
+        api = mock(IMovieDbApi.class);
+        service = new MovieDbService(new OkHttpClient(), api);
+    }
+
+    @Test
+    public void testConcurrentDetailsShared() {
+        final SingleSubject<MovieDetailsData> request = SingleSubject.create();
+        when(api.getMovieDetails(MOVIE_ID)).thenReturn(request);
+
+        final TestObserver<MovieDetailsData> first = service.getMovieDetails(MOVIE_ID).test();
+        final TestObserver<MovieDetailsData> second = service.getMovieDetails(MOVIE_ID).test();
+        verify(api, times(1)).getMovieDetails(MOVIE_ID);
+
+        final MovieDetailsData details = new MovieDetailsData();
+        request.onSuccess(details);
+        first.assertValue(details);
+        second.assertValue(details);
+    }
+
+    @Test
+    public void testCompletedRequestNotShared() {
+        when(api.getMovieDetails(MOVIE_ID)).thenReturn(Single.just(new MovieDetailsData()));
+
+        service.getMovieDetails(MOVIE_ID).test().assertComplete();
+        service.getMovieDetails(MOVIE_ID).test().assertComplete();
+        verify(api, times(2)).getMovieDetails(MOVIE_ID);
+    }
+
+    @Test
+    public void testDifferentParametersNotShared() {
+        final SingleSubject<PagingEnvelope<MovieData>> page1 = SingleSubject.create();
+        final SingleSubject<PagingEnvelope<MovieData>> page2 = SingleSubject.create();
+        final SingleSubject<PagingEnvelope<MovieData>> otherMovie = SingleSubject.create();
+        when(api.getSimilarMovies(MOVIE_ID, 1)).thenReturn(page1);
+        when(api.getSimilarMovies(MOVIE_ID, 2)).thenReturn(page2);
+        when(api.getSimilarMovies(OTHER_MOVIE_ID, 1)).thenReturn(otherMovie);
+
+        final PagingEnvelope<MovieData> first = new PagingEnvelope<>(2, 2, 1, new ArrayList<>());
+        service.getSimilarMovies(MOVIE_ID, null).test();
+        service.getSimilarMovies(MOVIE_ID, null).test();
+        service.getSimilarMovies(MOVIE_ID, first).test();
+        service.getSimilarMovies(OTHER_MOVIE_ID, null).test();
+
+        verify(api, times(1)).getSimilarMovies(MOVIE_ID, 1);
+        verify(api, times(1)).getSimilarMovies(MOVIE_ID, 2);
+        verify(api, times(1)).getSimilarMovies(OTHER_MOVIE_ID, 1);
+    }
+
+    @Test
+    public void testNowPlayingPageShared() {
+        final SingleSubject<PagingEnvelope<MovieData>> request = SingleSubject.create();
+        when(api.getMovieNowPlaying(1)).thenReturn(request);
+
+        // The first page requested by the list and by the bootstrap at once.
+        final TestObserver<PagingEnvelope<MovieData>> first = service.getMovieNowPlaying(null).test();
+        final TestObserver<PagingEnvelope<MovieData>> second = service.getMovieNowPlayingPage(1).test();
+        verify(api, times(1)).getMovieNowPlaying(1);
+
+        final PagingEnvelope<MovieData> page = new PagingEnvelope<>(1, 0, 1, new ArrayList<>());
+        request.onSuccess(page);
+        assertSame("First subscriber should get the page.", page, first.values().get(0));
+        assertSame("Second subscriber should get the page.", page, second.values().get(0));
+    }
+
+    @Test
+    public void testFailedRequestShared() {
+        final SingleSubject<MovieDetailsData> failed = SingleSubject.create();
+        when(api.getMovieDetails(MOVIE_ID)).thenReturn(failed, Single.just(new MovieDetailsData()));
+
+        final TestObserver<MovieDetailsData> first = service.getMovieDetails(MOVIE_ID).test();
+        final TestObserver<MovieDetailsData> second = service.getMovieDetails(MOVIE_ID).test();
+        failed.onError(new IOException("Network failed"));
+        first.assertError(IOException.class);
+        second.assertError(IOException.class);
+
+        // Retry after the failure sends a new request.
+        service.getMovieDetails(MOVIE_ID).test().assertComplete();
+        verify(api, times(2)).getMovieDetails(MOVIE_ID);
+    }
+
+    // endregion
+}
@@ -57,7 +57,8 @@ public class RestApiTest {
         when(mockAppContext.getExternalCacheDir()).thenReturn(new File("./cache/"));
 
         FileUtil.init(mockContext);
-        final OkHttpClient okHttpClient = MovieDbServiceModule.provideOkHttpClient();
+        final OkHttpClient okHttpClient =
+                MovieDbServiceModule.provideOkHttpClient(MovieDbServiceModule.provideBaseOkHttpClient());
         final IMovieDbApi api = MovieDbServiceModule.provideMovieDbApi(okHttpClient);
         service = MovieDbServiceModule.provideMovieDbService(okHttpClient, api);
     }
@@ -19,7 +19,9 @@ package com.github.brianspace.moviebrowser.viewmodels;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,6 +30,7 @@ import android.databinding.ObservableList;
 import com.github.brianspace.common.objstore.ModelObjectStore;
 import com.github.brianspace.common.observable.ICollectionObserver;
 import com.github.brianspace.common.observable.ICollectionObserver.Action;
+import com.github.brianspace.common.observable.ObserverDispatchers;
 import com.github.brianspace.moviebrowser.models.IEntityStore;
 import com.github.brianspace.moviebrowser.models.IFavoriteMovieCollection;
 import com.github.brianspace.moviebrowser.models.IImageConfig;
@@ -168,7 +171,7 @@ public class ViewModelTest {
         final ArgumentCaptor<ICollectionObserver> observerCaptor = ArgumentCaptor.forClass(ICollectionObserver.class);
         final MoviesViewModel moviesViewModel = new MoviesViewModel(movieCollection1, viewModelFactory);
         // Capture the observer.
-        verify(movieCollection1).addObserver(observerCaptor.capture());
+        verify(movieCollection1).addObserver(observerCaptor.capture(), eq(ObserverDispatchers.mainLooper()));
 
         final TestObserver<Void> testObserver = moviesViewModel.load().test();
         testObserver.awaitDone(5, TimeUnit.SECONDS);
@@ -184,6 +187,75 @@ public class ViewModelTest {
         verifyList1(moviesViewModel.getMovies());
     }
 
+    /**
+     * Test that a range appended to the movie list keeps its order.
+     */
+    @Test
+    public void testMoviesViewModelAppendRange() throws Exception {
+        final ArgumentCaptor<ICollectionObserver> observerCaptor = ArgumentCaptor.forClass(ICollectionObserver.class);
+        final MoviesViewModel moviesViewModel = new MoviesViewModel(movieCollection1, viewModelFactory);
+        verify(movieCollection1).addObserver(observerCaptor.capture(), eq(ObserverDispatchers.mainLooper()));
+
+        final List<Object> range = new ArrayList<>(2);
+        range.add(movie1);
+        range.add(movieList2.get(0));
+        observerCaptor.getValue().onUpdate(movieCollection1, Action.AppendRange, null, range);
+
+        final ObservableList<MovieViewModel> movies = moviesViewModel.getMovies();
+        assertEquals("Movie list size is not two.", 2, movies.size());
+        assertTrue("Appended movies should keep their order.", movies.get(0).hasId(MOVIE1_ID));
+        assertTrue("Appended movies should keep their order.", movies.get(1).hasId(MOVIE2_ID));
+    }
+
+    /**
+     * Test that the notifications queued before a full reload do not add the loaded movies again.
+     */
+    @Test
+    public void testMoviesViewModelReloadIgnoresQueuedAppends() throws Exception {
+        final ArgumentCaptor<ICollectionObserver> observerCaptor = ArgumentCaptor.forClass(ICollectionObserver.class);
+        final MoviesViewModel moviesViewModel = new MoviesViewModel(movieCollection1, viewModelFactory);
+        verify(movieCollection1).addObserver(observerCaptor.capture(), eq(ObserverDispatchers.mainLooper()));
+
+        when(movieCollection1.isLoaded()).thenReturn(true);
+        moviesViewModel.load().test().assertComplete();
+        verifyList1(moviesViewModel.getMovies());
+
+        // Delivered after the copy, for movies the copy already contains.
+        final ICollectionObserver observer = observerCaptor.getValue();
+        final List<Object> range = new ArrayList<>(1);
+        range.add(movie1);
+        observer.onUpdate(movieCollection1, Action.AppendRange, null, range);
+        observer.onUpdate(movieCollection1, Action.AppendItem, movie1, null);
+        observer.onUpdate(movieCollection1, Action.AddItemToFront, movie1, null);
+        verifyList1(moviesViewModel.getMovies());
+
+        // Loaded again, the list is rebuilt rather than appended to.
+        moviesViewModel.load().test().assertComplete();
+        verifyList1(moviesViewModel.getMovies());
+    }
+
+    /**
+     * Test removing movies added to both ends of the movie list.
+     */
+    @Test
+    public void testMoviesViewModelRemoveItem() throws Exception {
+        final ArgumentCaptor<ICollectionObserver> observerCaptor = ArgumentCaptor.forClass(ICollectionObserver.class);
+        final MoviesViewModel moviesViewModel = new MoviesViewModel(movieCollection1, viewModelFactory);
+        verify(movieCollection1).addObserver(observerCaptor.capture(), eq(ObserverDispatchers.mainLooper()));
+
+        final ICollectionObserver observer = observerCaptor.getValue();
+        final Movie movie2 = movieList2.get(0);
+        observer.onUpdate(movieCollection1, Action.AppendItem, movie2, null);
+        observer.onUpdate(movieCollection1, Action.AddItemToFront, movie1, null);
+        assertEquals("Movie list size is not two.", 2, moviesViewModel.getMovies().size());
+
+        observer.onUpdate(movieCollection1, Action.RemoveItem, movie2, null);
+        verifyList1(moviesViewModel.getMovies());
+
+        observer.onUpdate(movieCollection1, Action.RemoveItem, movie1, null);
+        assertTrue("Movie list should be empty.", moviesViewModel.getMovies().isEmpty());
+    }
+
     // endregion
 
     // region Private Methods
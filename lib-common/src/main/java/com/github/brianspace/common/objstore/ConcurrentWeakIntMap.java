@@ -0,0 +1,485 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.objstore;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import com.github.brianspace.common.util.Function;
+import com.github.brianspace.common.util.IntHashTable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Concurrent map from primitive int keys to weakly referenced values.
+ * The key space is split into lock-striped segments, each of which is an open-addressing hash table with linear
+ * probing, so lookups on different segments never contend and lookups on the same segment only share a read lock.
+ * Entries whose values have been garbage collected are enqueued to a {@link ReferenceQueue} and removed by
+ * {@link #expungeStaleEntries()}, or dropped when the owning segment needs to grow.
+ *
+ * @param <V> Type of the values.
+ */
+public final class ConcurrentWeakIntMap<V> {
+
+    // region Private Constants
+
+    /**
+     * Default number of segments, must be a power of 2.
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * Multiplier used to spread the keys (golden ratio).
+     */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    // endregion
+
+    // region Private Fields
+
+    /**
+     * The lock-striped segments.
+     */
+    private final Segment<V>[] segments;
+
+    /**
+     * Bit shift to get the segment index from the hash.
+     */
+    private final int segmentShift;
+
+    /**
+     * Queue of the references whose values have been garbage collected.
+     */
+    private final ReferenceQueue<V> staleRefQueue = new ReferenceQueue<>();
+
+    // endregion
+
+    // region Private Inner Types
+
+    /**
+     * Weak reference which remembers its key, so that it can be removed from the map once enqueued.
+     *
+     * @param <V> Type of the values.
+     */
+    private static final class KeyedWeakReference<V> extends WeakReference<V> {
+
+        /**
+         * The key associated with the value.
+         */
+        private final int key;
+
+        /* default */ KeyedWeakReference(final int key, @NonNull final V value,
+                @NonNull final ReferenceQueue<? super V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * A single open-addressing hash table guarded by its own read/write lock.
+     *
+     * @param <V> Type of the values.
+     */
+    private static final class Segment<V> extends IntHashTable<WeakReference<V>[]> {
+
+        /**
+         * Lock for concurrent read/write.
+         */
+        private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
+
+        /**
+         * Queue to register the references to.
+         */
+        private final ReferenceQueue<V> queue;
+
+        /**
+         * Create a new segment with the initial capacity.
+         *
+         * @param queue queue to register the references to.
+         */
+        /* default */ Segment(@NonNull final ReferenceQueue<V> queue) {
+            super();
+            this.queue = queue;
+        }
+
+        /**
+         * Get the value of the key. Must be called with the read lock held.
+         */
+        @Nullable
+        /* default */ V get(final int key) {
+            final int index = indexOf(key);
+            return index < 0 ? null : getValues()[index].get();
+        }
+
+        /**
+         * Put the value for the key. Must be called with the write lock held.
+         * Collected entries are dropped first if the segment needs to grow.
+         */
+        /* default */ void put(final int key, @NonNull final V value) {
+            final int index = insertKey(key);
+            getValues()[index < 0 ? ~index : index] = new KeyedWeakReference<>(key, value, queue);
+        }
+
+        /**
+         * Remove the key. Must be called with the write lock held.
+         */
+        /* default */ void remove(final int key) {
+            final int index = indexOf(key);
+            if (index >= 0) {
+                removeAt(index);
+            }
+        }
+
+        /**
+         * Remove the key only if it is still mapped to the specified reference. Must be called with the write lock
+         * held.
+         *
+         * @return true if the entry is removed, false if it has already been replaced or dropped.
+         */
+        /* default */ boolean removeReference(final int key, @NonNull final Reference<?> ref) {
+            final int index = indexOf(key);
+            if (index >= 0 && getValues()[index] == ref) {
+                removeAt(index);
+                return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * Get the number of entries whose value is still reachable. Must be called with the read lock held.
+         */
+        /* default */ int liveCount() {
+            final WeakReference<V>[] values = getValues();
+            int count = 0;
+            for (int i = 0; i < values.length; ++i) {
+                if (isUsed(i) && isLive(values, i)) {
+                    ++count;
+                }
+            }
+
+            return count;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected WeakReference<V>[] newValues(final int capacity) {
+            return (WeakReference<V>[]) new WeakReference[capacity];
+        }
+
+        @Override
+        protected void moveValue(final WeakReference<V>[] from, final int fromIndex, final WeakReference<V>[] to,
+                final int toIndex) {
+            to[toIndex] = from[fromIndex];
+        }
+
+        @Override
+        protected void clearValue(final WeakReference<V>[] values, final int index) {
+            values[index] = null;
+        }
+
+        /**
+         * Drop the entries whose values have been collected when the segment is rehashed.
+         */
+        @Override
+        protected boolean isLive(final WeakReference<V>[] values, final int index) {
+            return values[index].get() != null;
+        }
+    }
+
+    // endregion
+
+    // region Constructors
+
+    /**
+     * Create a new instance with the default concurrency level.
+     */
+    public ConcurrentWeakIntMap() {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param concurrencyLevel the expected number of concurrent writers, rounded up to a power of 2.
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentWeakIntMap(final int concurrencyLevel) {
+        int segmentCount = 1;
+        int shift = Integer.SIZE;
+        while (segmentCount < concurrencyLevel) {
+            segmentCount <<= 1;
+            --shift;
+        }
+
+        segmentShift = shift;
+        segments = (Segment<V>[]) new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; ++i) {
+            segments[i] = new Segment<>(staleRefQueue);
+        }
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Get the value associated with the key.
+     *
+     * @param key the key.
+     * @return the value, or null if not found or already garbage collected.
+     */
+    @Nullable
+    public V get(final int key) {
+        final int hash = hash(key);
+        final Segment<V> segment = segmentFor(hash);
+        final Lock lock = segment.rwLock.readLock();
+        lock.lock();
+        try {
+            return segment.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Associate the value with the key, replacing the existing one.
+     *
+     * @param key   the key.
+     * @param value the value, which will be weakly referenced.
+     */
+    public void put(final int key, @NonNull final V value) {
+        final int hash = hash(key);
+        final Segment<V> segment = segmentFor(hash);
+        final Lock lock = segment.rwLock.writeLock();
+        lock.lock();
+        try {
+            segment.put(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the value associated with the key, or create and associate a new one if not found.
+     * The check and the creation happen atomically under the segment's write lock, so that exactly one value is
+     * created for a key even when multiple threads race on it. The creator must be fast, as it blocks the writers
+     * (but not the readers from other segments) while running.
+     *
+     * @param key       the key.
+     * @param source    the object passed to the creator.
+     * @param creator   function to create the value from the source object.
+     * @param <S>       Type of the source object.
+     * @return the existing or newly created value.
+     */
+    @NonNull
+    public <S> V computeIfAbsent(final int key, @NonNull final S source, @NonNull final Function<S, V> creator) {
+        final int hash = hash(key);
+        final Segment<V> segment = segmentFor(hash);
+        final Lock lock = segment.rwLock.writeLock();
+        lock.lock();
+        try {
+            final V existing = segment.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            final V value = creator.apply(source);
+            segment.put(key, value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Batch version of {@link #computeIfAbsent(int, Object, Function)}, keyed by the entity IDs of the sources.
+     * The write lock of each segment involved is acquired only once for the whole batch.
+     *
+     * @param sources   the source objects.
+     * @param creator   function to create the value from the source object.
+     * @param <S>       Type of the source objects.
+     * @return the existing or newly created values, in the same order as the sources.
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public <S extends IEntity> List<V> computeAllIfAbsent(@NonNull final List<S> sources,
+            @NonNull final Function<S, V> creator) {
+        final int count = sources.size();
+        final int[] hashes = new int[count];
+        for (int i = 0; i < count; ++i) {
+            hashes[i] = hash(sources.get(i).getId());
+        }
+
+        final Object[] results = new Object[count];
+        for (int i = 0; i < count; ++i) {
+            if (results[i] != null) {
+                continue;
+            }
+
+            // Resolve all the remaining items belonging to the same segment under one lock.
+            final Segment<V> segment = segmentFor(hashes[i]);
+            final Lock lock = segment.rwLock.writeLock();
+            lock.lock();
+            try {
+                for (int j = i; j < count; ++j) {
+                    if (results[j] == null && segmentFor(hashes[j]) == segment) {
+                        final S source = sources.get(j);
+                        final int key = source.getId();
+                        V value = segment.get(key);
+                        if (value == null) {
+                            value = creator.apply(source);
+                            segment.put(key, value);
+                        }
+
+                        results[j] = value;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        final List<V> resultList = new ArrayList<>(count);
+        for (final Object value : results) {
+            resultList.add((V) value);
+        }
+
+        return resultList;
+    }
+
+    /**
+     * Remove the value associated with the key.
+     *
+     * @param key the key.
+     */
+    public void remove(final int key) {
+        final int hash = hash(key);
+        final Segment<V> segment = segmentFor(hash);
+        final Lock lock = segment.rwLock.writeLock();
+        lock.lock();
+        try {
+            segment.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        for (final Segment<V> segment : segments) {
+            final Lock lock = segment.rwLock.writeLock();
+            lock.lock();
+            try {
+                segment.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Remove the entries whose values have been garbage collected since the last call.
+     * Cheap when nothing has been collected, so it can be called opportunistically on each write.
+     *
+     * @return the number of entries removed.
+     */
+    public int expungeStaleEntries() {
+        int count = 0;
+        Reference<? extends V> ref = staleRefQueue.poll();
+        while (ref != null) {
+            @SuppressWarnings("unchecked")
+            final KeyedWeakReference<V> keyedRef = (KeyedWeakReference<V>) ref;
+            final int hash = hash(keyedRef.key);
+            final Segment<V> segment = segmentFor(hash);
+            final Lock lock = segment.rwLock.writeLock();
+            lock.lock();
+            try {
+                if (segment.removeReference(keyedRef.key, keyedRef)) {
+                    ++count;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            ref = staleRefQueue.poll();
+        }
+
+        return count;
+    }
+
+    /**
+     * Get the number of entries, including the ones whose values have been garbage collected but not yet dropped.
+     */
+    public int size() {
+        int total = 0;
+        for (final Segment<V> segment : segments) {
+            final Lock lock = segment.rwLock.readLock();
+            lock.lock();
+            try {
+                total += segment.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Get the number of entries whose values are still reachable.
+     */
+    public int liveCount() {
+        int total = 0;
+        for (final Segment<V> segment : segments) {
+            final Lock lock = segment.rwLock.readLock();
+            lock.lock();
+            try {
+                total += segment.liveCount();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return total;
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    /**
+     * Spread the key so that sequential IDs are distributed evenly among segments and slots.
+     */
+    private static int hash(final int key) {
+        final int hash = key * HASH_MULTIPLIER;
+        return hash ^ (hash >>> 16);
+    }
+
+    @NonNull
+    private Segment<V> segmentFor(final int hash) {
+        return segmentShift == Integer.SIZE ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    // endregion
+}
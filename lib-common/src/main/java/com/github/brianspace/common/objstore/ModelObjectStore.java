@@ -17,9 +17,14 @@
 package com.github.brianspace.common.objstore;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
 
 import com.github.brianspace.common.util.Function;
-import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Object store for two layer of objects, which ensures that only one object will be associated with one key.
@@ -44,6 +49,17 @@ public final class ModelObjectStore<M, D extends IEntity> extends ObjectStore<M>
      * @param modelCreator function to create an upper layer object from lower layer object.
      */
     public ModelObjectStore(@NonNull final Function<D, M> modelCreator) {
+        this(modelCreator, null);
+    }
+
+    /**
+     * Create a new instance of the ModelObjectStore which keeps the recently used models.
+     * @param modelCreator function to create an upper layer object from lower layer object.
+     * @param recentModels cache to keep the recently used models, null to only hold weak references.
+     */
+    public ModelObjectStore(@NonNull final Function<D, M> modelCreator,
+            @Nullable final LruCache<Integer, M> recentModels) {
+        super(recentModels);
         this.modelCreator = modelCreator;
     }
 
@@ -53,37 +69,63 @@ public final class ModelObjectStore<M, D extends IEntity> extends ObjectStore<M>
 
     /**
      * Get model object from the data layer object, or create a new one if not found.
+     * Entries of the models which have been garbage collected are reclaimed before a new model is added.
+     * Only one model will be created for an ID even if multiple threads call this method at the same time.
      * @param lowerObj the lower layer object.
      * @return the model matching the lower layer object.
      */
     @NonNull
     public M getOrCreate(@NonNull final D lowerObj) {
-        rwLock.readLock().lock(); // Read lock
-        try {
-            final int key = lowerObj.getId();
-            final WeakReference<M> found = cache.get(key);
-            if (found != null) {
-                final M item = found.get();
-                if (item != null) {
-                    return item;
-                }
-            }
+        final int key = lowerObj.getId();
+        final M found = cache.get(key);
+        if (found != null) {
+            recordHit(key, found);
+            return found;
+        }
 
-            // Upgrade to write lock
-            rwLock.readLock().unlock();
-            rwLock.writeLock().lock();
-            try {
-                final M model = modelCreator.apply(lowerObj);
-                cache.put(lowerObj.getId(), new WeakReference<>(model));
-                return model;
-            } finally {
-                // Downgrade to read lock
-                rwLock.readLock().lock();
-                rwLock.writeLock().unlock();
+        cache.expungeStaleEntries();
+        final boolean[] created = {false};
+        final M model = cache.computeIfAbsent(key, lowerObj, data -> {
+            created[0] = true;
+            return modelCreator.apply(data);
+        });
+
+        if (created[0]) {
+            recordCreated(key, model);
+        } else {
+            recordHit(key, model);
+        }
+
+        return model;
+    }
+
+    /**
+     * Get model objects for a batch of data layer objects, creating the ones not found.
+     * Each part of the store is locked at most once for the whole batch, instead of once per object.
+     * @param lowerObjs the lower layer objects.
+     * @return the models matching the lower layer objects, in the same order.
+     */
+    @NonNull
+    public List<M> getOrCreateAll(@NonNull final List<D> lowerObjs) {
+        cache.expungeStaleEntries();
+        final Set<M> createdModels = Collections.newSetFromMap(new IdentityHashMap<M, Boolean>());
+        final List<M> models = cache.computeAllIfAbsent(lowerObjs, data -> {
+            final M model = modelCreator.apply(data);
+            createdModels.add(model);
+            return model;
+        });
+
+        final int count = models.size();
+        for (int i = 0; i < count; ++i) {
+            final M model = models.get(i);
+            if (createdModels.remove(model)) {
+                recordCreated(lowerObjs.get(i).getId(), model);
+            } else {
+                recordHit(lowerObjs.get(i).getId(), model);
             }
-        } finally {
-            rwLock.readLock().unlock();
         }
+
+        return models;
     }
 
     // endregion
@@ -16,30 +16,79 @@
 
 package com.github.brianspace.common.objstore;
 
+import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.util.SparseArray;
-import java.lang.ref.WeakReference;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import android.support.v4.util.LruCache;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Object store, which ensures that only one object will be associated with one key.
+ * Backed by a {@link ConcurrentWeakIntMap} so that lookups from different threads do not block each other.
+ * Optionally, the most recently used objects can be strongly held by an {@link LruCache}, so that they survive garbage
+ * collection while no one else references them. The LRU cache has a single lock, so the objects are put into it when
+ * created, but only on one of every {@value #TOUCH_SAMPLE_INTERVAL} hits: a frequently used object is still refreshed
+ * before being evicted, while the hits on different keys do not contend on the lock.
  * @param <T>  Type of the entity class.
  */
 public class ObjectStore<T> {
+    // region Private Constants
+
+    /**
+     * Put the found object into the LRU cache on one of every this number of hits, must be a power of 2.
+     */
+    private static final int TOUCH_SAMPLE_INTERVAL = 8;
+
+    // endregion
+
     // region Protected Fields
 
     /**
-     * Array of weak reference to the cached objects.
+     * Map of weak reference to the cached objects.
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected final ConcurrentWeakIntMap<T> cache = new ConcurrentWeakIntMap<>();
+
+    /**
+     * Number of lookups which found an existing object.
      */
     @SuppressWarnings("WeakerAccess")
-    protected final SparseArray<WeakReference<T>> cache = new SparseArray<>();
+    protected final AtomicLong hitCount = new AtomicLong();
 
     /**
-     * Lock for concurrent read/write.
-     * Can be replaced by StampedLock in the future.
+     * Number of lookups which did not find an existing object.
      */
     @SuppressWarnings("WeakerAccess")
-    protected final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
+    protected final AtomicLong missCount = new AtomicLong();
+
+    // endregion
+
+    // region Private Fields
+
+    /**
+     * Strong references to the recently used objects, null if not enabled.
+     */
+    @Nullable
+    private final LruCache<Integer, T> recentObjects;
+
+    // endregion
+
+    // region Constructors
+
+    /**
+     * Create a new instance of the ObjectStore which only holds weak references.
+     */
+    public ObjectStore() {
+        this(null);
+    }
+
+    /**
+     * Create a new instance of the ObjectStore.
+     * @param recentObjects cache to keep the recently used objects, which can be bounded by count or by estimated size
+     *                      (override {@link LruCache#sizeOf(Object, Object)}). Null to only hold weak references.
+     */
+    public ObjectStore(@Nullable final LruCache<Integer, T> recentObjects) {
+        this.recentObjects = recentObjects;
+    }
 
     // endregion
 
@@ -52,33 +101,93 @@ public class ObjectStore<T> {
      */
     @Nullable
     public T find(final int key) {
-        rwLock.readLock().lock(); // Read lock
-        try {
-            final WeakReference<T> found = cache.get(key);
-            if (found != null) {
-                final T item = found.get();
-                if (item != null) {
-                    return item;
-                }
-
-                // Reference need to be cleared.
-                // Upgrade to write lock
-                rwLock.readLock().unlock();
-                rwLock.writeLock().lock();
-                try {
-                    cache.delete(key);
-                } finally {
-                    // Downgrade to read lock
-                    rwLock.readLock().lock();
-                    rwLock.writeLock().unlock();
-                }
-            }
-        } finally {
-            rwLock.readLock().unlock();
+        final T item = cache.get(key);
+        if (item == null) {
+            missCount.incrementAndGet();
+        } else {
+            recordHit(key, item);
+        }
+
+        return item;
+    }
+
+    /**
+     * Check if an object is associated with the key, without counting it as a lookup.
+     * @param key the key
+     * @return true if the object exists, otherwise false.
+     */
+    public boolean contains(final int key) {
+        return cache.get(key) != null;
+    }
+
+    /**
+     * Get the number of entries in the store, including the ones whose objects have been garbage collected but not yet
+     * reclaimed.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Get the number of objects in the store which are still reachable.
+     */
+    public int liveCount() {
+        return cache.liveCount();
+    }
+
+    /**
+     * Get the number of lookups which found an existing object.
+     */
+    public long hitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of lookups which did not find an existing object (and created one if requested).
+     */
+    public long missCount() {
+        return missCount.get();
+    }
+
+    // endregion
+
+    // region Protected Methods
+
+    /**
+     * Count a lookup which found an existing object, and mark the object as recently used on the sampled hits.
+     * @param key the key
+     * @param item the object found.
+     */
+    protected void recordHit(final int key, @NonNull final T item) {
+        if ((hitCount.incrementAndGet() & (TOUCH_SAMPLE_INTERVAL - 1)) == 0) {
+            touch(key, item);
         }
+    }
+
+    /**
+     * Count a lookup which created a new object, and mark the object as recently used.
+     * @param key the key
+     * @param item the object created.
+     */
+    protected void recordCreated(final int key, @NonNull final T item) {
+        missCount.incrementAndGet();
+        touch(key, item);
+    }
+
+    // endregion
+
+    // region Private Methods
 
-        return null;
+    /**
+     * Mark the object as recently used, so that it will be strongly held by the LRU cache if enabled.
+     * @param key the key
+     * @param item the object associated with the key.
+     */
+    private void touch(final int key, @NonNull final T item) {
+        if (recentObjects != null) {
+            recentObjects.put(key, item);
+        }
     }
 
     // endregion
-}
\ No newline at end of file
+}
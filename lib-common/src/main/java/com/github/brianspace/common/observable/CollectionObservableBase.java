@@ -18,13 +18,79 @@ package com.github.brianspace.common.observable;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import com.github.brianspace.common.observable.ICollectionObserver.Action;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Base class for the collection which is observable for changes in the list.
+ * Changes can be batched between {@link #beginBatch()} and {@link #endBatch()}, so that adjacent appends are sent
+ * as a single {@code AppendRange} notification. A batch belongs to the thread that begins it: only the appends made
+ * by that thread are held back until its outermost batch ends, and the other threads notify as usual.
  */
 public class CollectionObservableBase extends WeakObservable<ICollectionObserver> {
 
+    // region Private Types
+
+    /**
+     * Batch state of a thread.
+     */
+    private static final class Batch {
+
+        /**
+         * Nesting depth of the batches.
+         */
+        /* default */ int depth;
+
+        /**
+         * Items appended in the current batch and not notified yet.
+         */
+        /* default */ final List<Object> pendingAppends = new ArrayList<>();
+    }
+
+    // endregion
+
+    // region Private Fields
+
+    /**
+     * Batch state of each thread, only created by {@link #beginBatch()}.
+     */
+    private final ThreadLocal<Batch> threadBatch = new ThreadLocal<>();
+
+    // endregion
+
+    // region Protected Methods
+
+    /**
+     * Start batching the notifications of the current thread. Appends are held back until {@link #endBatch()} or
+     * another kind of change, and then sent as a single notification. Batches can be nested, and each must be ended
+     * exactly once on the same thread.
+     */
+    protected void beginBatch() {
+        Batch batch = threadBatch.get();
+        if (batch == null) {
+            batch = new Batch();
+            threadBatch.set(batch);
+        }
+
+        ++batch.depth;
+    }
+
+    /**
+     * End the batch started by {@link #beginBatch()} on the current thread, and send the pending appends if it is the
+     * outermost one.
+     */
+    protected void endBatch() {
+        final Batch batch = threadBatch.get();
+        if (batch == null || --batch.depth > 0) {
+            return;
+        }
+
+        threadBatch.remove();
+        notifyAppends(takePendingAppends(batch));
+    }
+
     /**
      * Notify observers for the change in the list.
      *
@@ -35,6 +101,65 @@ public class CollectionObservableBase extends WeakObservable<ICollectionObserver
     @SuppressWarnings("unchecked")
     protected void notifyObservers(@NonNull final ICollectionObserver.Action action, @Nullable final Object item,
             @Nullable final List<Object> range) {
+        final Batch batch = threadBatch.get();
+        if (batch != null) {
+            if (action == Action.AppendItem && item != null) {
+                batch.pendingAppends.add(item);
+                return;
+            }
+
+            if (action == Action.AppendRange && range != null) {
+                batch.pendingAppends.addAll(range);
+                return;
+            }
+        }
+
+        final List<Object> appends = batch == null ? null : takePendingAppends(batch);
+        if (appends != null) {
+            // Keep the order of the changes.
+            final boolean changed = hasChanged();
+            notifyAppends(appends);
+            if (changed) {
+                setChanged();
+            }
+        }
+
+        foreachObserver(observer -> observer.onUpdate(this, action, item, range));
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    /**
+     * Take the pending appends out of the batch.
+     *
+     * @return the pending appends, or null if there is none.
+     */
+    @Nullable
+    private static List<Object> takePendingAppends(@NonNull final Batch batch) {
+        if (batch.pendingAppends.isEmpty()) {
+            return null;
+        }
+
+        final List<Object> appends = new ArrayList<>(batch.pendingAppends);
+        batch.pendingAppends.clear();
+        return appends;
+    }
+
+    private void notifyAppends(@Nullable final List<Object> appends) {
+        if (appends == null) {
+            return;
+        }
+
+        final int count = appends.size();
+        final List<Object> range = count == 1 ? null : Collections.unmodifiableList(appends);
+        final Object item = count == 1 ? appends.get(0) : null;
+        final Action action = count == 1 ? Action.AppendItem : Action.AppendRange;
+
+        setChanged();
         foreachObserver(observer -> observer.onUpdate(this, action, item, range));
     }
+
+    // endregion
 }
@@ -26,13 +26,24 @@ import android.support.annotation.NonNull;
 public interface IObservable<ObserverT> {
 
     /**
-     * Adds the specified observer to the list of observers. If it is already registered, it is not added a second time.
+     * Adds the specified observer to the list of observers, to be notified on the thread that changes the observable.
+     * If it is already registered, it is not added a second time, but notified on that thread instead.
      * Note: make sure this is not the only reference to the observer, otherwise it may be garbage collected.
      *
      * @param observer the Observer to add.
      */
     void addObserver(@NonNull ObserverT observer);
 
+    /**
+     * Adds the specified observer to the list of observers, to be notified through the dispatcher.
+     * If it is already registered, it is not added a second time, but notified through the new dispatcher instead.
+     * Note: make sure this is not the only reference to the observer, otherwise it may be garbage collected.
+     *
+     * @param observer the Observer to add.
+     * @param dispatcher the dispatcher to run the notifications, e.g. {@link ObserverDispatchers#mainLooper()}.
+     */
+    void addObserver(@NonNull ObserverT observer, @NonNull IObserverDispatcher dispatcher);
+
     /**
      * Removes the specified observer from the list of observers. Passing null won't do anything.
      *
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.observable;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Interface for dispatching notifications to observers, e.g. on the main thread.
+ * All the observers registered with the same dispatcher get a notification in one dispatched task.
+ *
+ * @see ObserverDispatchers
+ */
+public interface IObserverDispatcher {
+
+    /**
+     * Run the task that notifies the observers.
+     *
+     * @param task the task to run.
+     */
+    void dispatch(@NonNull Runnable task);
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.observable;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Factory of the common {@link IObserverDispatcher}s.
+ */
+public final class ObserverDispatchers {
+
+    // region Private Constants
+
+    /**
+     * Dispatcher to notify on the thread that changes the observable.
+     */
+    private static final IObserverDispatcher IMMEDIATE = Runnable::run;
+
+    // endregion
+
+    // region Private Fields
+
+    /**
+     * Dispatcher to notify on the main thread, created on first use.
+     */
+    private static IObserverDispatcher mainLooper;
+
+    // endregion
+
+    // region Private Inner Types
+
+    /**
+     * Dispatcher that runs the tasks one at a time in order, on the given executor.
+     */
+    private static final class SerialDispatcher implements IObserverDispatcher {
+
+        /**
+         * The executor to run the tasks.
+         */
+        private final Executor executor;
+
+        /**
+         * Tasks waiting to run.
+         */
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        /**
+         * Whether a task is scheduled on the executor.
+         */
+        private boolean isRunning;
+
+        /* default */ SerialDispatcher(@NonNull final Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void dispatch(@NonNull final Runnable task) {
+            synchronized (tasks) {
+                tasks.offer(task);
+                if (isRunning) {
+                    return;
+                }
+
+                isRunning = true;
+            }
+
+            executor.execute(this::runTasks);
+        }
+
+        private void runTasks() {
+            while (true) {
+                final Runnable task;
+                synchronized (tasks) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        isRunning = false;
+                        return;
+                    }
+                }
+
+                task.run();
+            }
+        }
+    }
+
+    // endregion
+
+    // region Constructors
+
+    private ObserverDispatchers() throws InstantiationException {
+        throw new InstantiationException("Utility class ObserverDispatchers should not be instantiated!");
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Get the dispatcher which notifies on the thread that changes the observable.
+     */
+    @NonNull
+    public static IObserverDispatcher immediate() {
+        return IMMEDIATE;
+    }
+
+    /**
+     * Get the dispatcher which notifies on the main thread.
+     */
+    @NonNull
+    public static synchronized IObserverDispatcher mainLooper() {
+        if (mainLooper == null) {
+            final Handler mainHandler = new Handler(Looper.getMainLooper());
+            mainLooper = mainHandler::post;
+        }
+
+        return mainLooper;
+    }
+
+    /**
+     * Create a dispatcher which notifies on the executor, one notification at a time in order.
+     *
+     * @param executor the executor to run the notifications.
+     */
+    @NonNull
+    public static IObserverDispatcher serial(@NonNull final Executor executor) {
+        return new SerialDispatcher(executor);
+    }
+
+    // endregion
+}
@@ -17,14 +17,25 @@
 package com.github.brianspace.common.observable;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.util.Log;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Use WeakReference for observers to prevent memory leak.
+ * Observers are registered in an identity based weak set, so adding and deleting are O(1), and the references to
+ * the collected observers are removed through a ReferenceQueue. Notifying goes through an array snapshot of the
+ * set, which takes no lock and allocates nothing until the observers change. Observers registered with an
+ * {@link IObserverDispatcher} are notified together in one dispatched task per dispatcher. Adding an observer which is
+ * already registered replaces its dispatcher and keeps its position.
  * @see IObservable
  * @see IObserver
  *
@@ -32,17 +43,142 @@ import java.util.List;
  */
 public abstract class WeakObservable<ObserverT> implements IObservable<ObserverT> {
 
+    // region Private Constants
+
+    /**
+     * Shared empty observer array.
+     */
+    private static final WeakReference<?>[] NO_OBSERVERS = new WeakReference<?>[0];
+
+    /**
+     * Shared empty dispatch group array.
+     */
+    private static final DispatchGroup<?>[] NO_GROUPS = new DispatchGroup<?>[0];
+
+    /**
+     * Shared snapshot without observers.
+     */
+    @SuppressWarnings("unchecked")
+    private static final Snapshot<?> EMPTY_SNAPSHOT = new Snapshot<>((WeakReference<Object>[]) NO_OBSERVERS,
+            (DispatchGroup<Object>[]) NO_GROUPS);
+
+    // endregion
+
     // region Private Fields
 
     /**
-     * The list of weak reference to the observers.
+     * Weak references to the observers, in the order of registration, each mapped to itself so that the registered
+     * reference can be looked up. Guarded by the lock of this object.
+     */
+    private final Map<ObserverReference<ObserverT>, ObserverReference<ObserverT>> observers = new LinkedHashMap<>();
+
+    /**
+     * Queue of the references whose observers have been garbage collected.
      */
-    protected List<WeakReference<ObserverT>> observers = new ArrayList<>();
+    private final ReferenceQueue<ObserverT> collectedObservers = new ReferenceQueue<>();
+
+    /**
+     * Snapshot of the observers used for notification, or null if it needs to be rebuilt. Never modified.
+     */
+    private volatile Snapshot<ObserverT> snapshot = emptySnapshot();
 
     /**
      * Changed flag.
      */
-    private boolean changed;
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    // endregion
+
+    // region Private Inner Types
+
+    /**
+     * Weak reference to an observer, compared by the identity of the observer.
+     * A cleared reference is only equal to itself.
+     */
+    private static final class ObserverReference<T> extends WeakReference<T> {
+
+        /**
+         * Identity hash code of the observer, kept after it is collected.
+         */
+        private final int hash;
+
+        /**
+         * Dispatcher to notify the observer, null for the references only used for lookup.
+         * Guarded by the lock of the observable.
+         */
+        /* default */ IObserverDispatcher dispatcher;
+
+        /* default */ ObserverReference(@NonNull final T observer, @Nullable final ReferenceQueue<? super T> queue,
+                @Nullable final IObserverDispatcher dispatcher) {
+            super(observer, queue);
+            hash = System.identityHashCode(observer);
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        public boolean equals(final Object other) {
+            if (other == this) {
+                return true;
+            }
+
+            if (!(other instanceof ObserverReference)) {
+                return false;
+            }
+
+            final Object observer = get();
+            return observer != null && observer == ((ObserverReference<?>) other).get(); // Compare object.
+        }
+    }
+
+    /**
+     * Observers notified through the same dispatcher.
+     */
+    private static final class DispatchGroup<T> {
+
+        /**
+         * Dispatcher to run the notifications.
+         */
+        /* default */ final IObserverDispatcher dispatcher;
+
+        /**
+         * The observers.
+         */
+        /* default */ final WeakReference<T>[] observers;
+
+        /* default */ DispatchGroup(@NonNull final IObserverDispatcher dispatcher,
+                @NonNull final WeakReference<T>[] observers) {
+            this.dispatcher = dispatcher;
+            this.observers = observers;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the observers for notification.
+     */
+    private static final class Snapshot<T> {
+
+        /**
+         * Observers notified on the thread that changes the observable.
+         */
+        /* default */ final WeakReference<T>[] immediateObservers;
+
+        /**
+         * Observers notified through the other dispatchers.
+         */
+        /* default */ final DispatchGroup<T>[] dispatchGroups;
+
+        /* default */ Snapshot(@NonNull final WeakReference<T>[] immediateObservers,
+                @NonNull final DispatchGroup<T>[] dispatchGroups) {
+            this.immediateObservers = immediateObservers;
+            this.dispatchGroups = dispatchGroups;
+        }
+    }
 
     // endregion
 
@@ -50,36 +186,44 @@ public abstract class WeakObservable<ObserverT> implements IObservable<ObserverT
 
     @Override
     public void addObserver(@NonNull final ObserverT observer) {
+        addObserver(observer, ObserverDispatchers.immediate());
+    }
+
+    @Override
+    public void addObserver(@NonNull final ObserverT observer, @NonNull final IObserverDispatcher dispatcher) {
         if (observer == null) {
             throw new InvalidParameterException("observer");
         }
 
+        if (dispatcher == null) {
+            throw new InvalidParameterException("dispatcher");
+        }
+
         synchronized (this) {
-            boolean found = false;
-            for (final WeakReference<ObserverT> item : observers) {
-                if (item.get() == observer) {
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
-                observers.add(new WeakReference<>(observer));
+            expungeCollectedObservers();
+            final ObserverReference<ObserverT> reference = new ObserverReference<>(observer, collectedObservers,
+                    dispatcher);
+            final ObserverReference<ObserverT> existing = observers.get(reference);
+            if (existing == null) {
+                observers.put(reference, reference);
+                snapshot = null;
+            } else if (existing.dispatcher != dispatcher) {
+                existing.dispatcher = dispatcher;
+                snapshot = null;
             }
         }
     }
 
     @Override
     public void deleteObserver(@NonNull final ObserverT observer) {
-        synchronized (this) {
-            WeakReference<ObserverT> found = null;
-            for (final WeakReference<ObserverT> item : observers) {
-                if (item.get() == observer) {
-                    found = item;
-                }
-            }
+        if (observer == null) {
+            return;
+        }
 
-            if (found != null) {
-                observers.remove(found);
+        synchronized (this) {
+            expungeCollectedObservers();
+            if (observers.remove(new ObserverReference<>(observer, null, null)) != null) {
+                snapshot = null;
             }
         }
     }
@@ -88,12 +232,13 @@ public abstract class WeakObservable<ObserverT> implements IObservable<ObserverT
     public void deleteObservers() {
         synchronized (this) {
             observers.clear();
+            snapshot = emptySnapshot();
         }
     }
 
     @Override
     public boolean hasChanged() {
-        return changed;
+        return changed.get();
     }
 
     // endregion
@@ -105,7 +250,7 @@ public abstract class WeakObservable<ObserverT> implements IObservable<ObserverT
      * {@code setChanged()}, {@code hasChanged()} will return {@code true}.
      */
     protected void setChanged() {
-        changed = true;
+        changed.set(true);
     }
 
     /**
@@ -113,7 +258,7 @@ public abstract class WeakObservable<ObserverT> implements IObservable<ObserverT
      * {@code clearChanged()}, {@code hasChanged()} will return {@code false}.
      */
     protected void clearChanged() {
-        changed = false;
+        changed.set(false);
     }
 
     /**
@@ -129,54 +274,127 @@ public abstract class WeakObservable<ObserverT> implements IObservable<ObserverT
     }
 
     /**
-     * Calls the specified action for each observer.
+     * Calls the specified action for each observer, through the dispatcher it is registered with.
      * @param action action to be called.
      */
     protected void foreachObserver(@NonNull final INotificationCallback<ObserverT> action) {
-        final List<ObserverT> tempObserverList = new ArrayList<>();
-        final List<WeakReference<ObserverT>> listToRemove = new ArrayList<>();
-        synchronized (this) {
-            if (!hasChanged()) {
-                return;
-            }
+        if (!changed.compareAndSet(true, false)) {
+            return;
+        }
 
-            clearChanged();
+        Snapshot<ObserverT> current = snapshot;
+        final Reference<? extends ObserverT> collected = collectedObservers.poll();
+        if (current == null || collected != null) {
+            current = updateSnapshot(collected);
+        }
 
-            if (observers.isEmpty()) {
-                return;
-            }
+        notifyAll(current.immediateObservers, action);
+        for (final DispatchGroup<ObserverT> group : current.dispatchGroups) {
+            group.dispatcher.dispatch(() -> notifyAll(group.observers, action));
+        }
+    }
 
-            for (final WeakReference<ObserverT> item : observers) {
-                if (item.get() == null) {
-                    listToRemove.add(item);
-                } else {
-                    tempObserverList.add(item.get());
-                }
+    // endregion
+
+    // region Private Methods
+
+    @SuppressWarnings("unchecked")
+    private static <T> Snapshot<T> emptySnapshot() {
+        return (Snapshot<T>) EMPTY_SNAPSHOT;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> WeakReference<T>[] toArray(@NonNull final List<WeakReference<T>> references) {
+        return references.isEmpty() ? (WeakReference<T>[]) NO_OBSERVERS
+                : references.toArray((WeakReference<T>[]) new WeakReference<?>[references.size()]);
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static <T> void notifyAll(@NonNull final WeakReference<T>[] references,
+            @NonNull final INotificationCallback<T> action) {
+        for (final WeakReference<T> item : references) {
+            final T observer = item.get();
+            if (observer == null) {
+                // Collected, will be removed when its reference is enqueued.
+                continue;
             }
 
-            if (!listToRemove.isEmpty()) {
-                observers.removeAll(listToRemove);
+            try {
+                action.onNotify(observer);
+            } catch (final Exception e) {
+                Log.e("WeakObservable", e.getMessage());
             }
         }
+    }
 
-        notify(tempObserverList, action);
+    /**
+     * Remove the references to the collected observers. Must be called with the lock of this object held.
+     */
+    private void expungeCollectedObservers() {
+        Reference<? extends ObserverT> collected;
+        while ((collected = collectedObservers.poll()) != null) {
+            removeCollectedObserver(collected);
+        }
     }
 
-    // endregion
+    private void removeCollectedObserver(@NonNull final Reference<? extends ObserverT> collected) {
+        // A cleared reference is only equal to itself.
+        if (observers.remove(collected) != null) {
+            snapshot = null;
+        }
+    }
 
-    // region Private Methods
+    /**
+     * Remove the references to the collected observers, and rebuild the snapshot if needed.
+     *
+     * @param collected a reference already taken from the queue, or null.
+     * @return the up to date snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized Snapshot<ObserverT> updateSnapshot(@Nullable final Reference<? extends ObserverT> collected) {
+        if (collected != null) {
+            removeCollectedObserver(collected);
+        }
 
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    private void notify(final List<ObserverT> tempObserverList, final INotificationCallback<ObserverT> action) {
-        if (!tempObserverList.isEmpty()) {
-            for (final ObserverT observer : tempObserverList) {
-                try {
-                    action.onNotify(observer);
-                } catch (final Exception e) {
-                    Log.e("WeakObservable", e.getMessage());
+        expungeCollectedObservers();
+        Snapshot<ObserverT> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        if (observers.isEmpty()) {
+            current = emptySnapshot();
+        } else {
+            // Group the observers by dispatcher, in the order of registration.
+            final IObserverDispatcher immediate = ObserverDispatchers.immediate();
+            final List<WeakReference<ObserverT>> immediateObservers = new ArrayList<>();
+            final Map<IObserverDispatcher, List<WeakReference<ObserverT>>> groups = new LinkedHashMap<>();
+            for (final ObserverReference<ObserverT> item : observers.keySet()) {
+                if (item.dispatcher == immediate) {
+                    immediateObservers.add(item);
+                } else {
+                    List<WeakReference<ObserverT>> group = groups.get(item.dispatcher);
+                    if (group == null) {
+                        group = new ArrayList<>();
+                        groups.put(item.dispatcher, group);
+                    }
+
+                    group.add(item);
                 }
             }
+
+            final DispatchGroup<ObserverT>[] dispatchGroups = groups.isEmpty() ? (DispatchGroup<ObserverT>[]) NO_GROUPS
+                    : (DispatchGroup<ObserverT>[]) new DispatchGroup<?>[groups.size()];
+            int index = 0;
+            for (final Map.Entry<IObserverDispatcher, List<WeakReference<ObserverT>>> entry : groups.entrySet()) {
+                dispatchGroups[index++] = new DispatchGroup<>(entry.getKey(), toArray(entry.getValue()));
+            }
+
+            current = new Snapshot<>(toArray(immediateObservers), dispatchGroups);
         }
+
+        snapshot = current;
+        return current;
     }
 
     // endregion
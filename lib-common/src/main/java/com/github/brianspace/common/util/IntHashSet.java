@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.util;
+
+/**
+ * Set of primitive int values, implemented as an open-addressing hash table with linear probing.
+ * Adding, removing and checking a value are O(1) on average and no boxing is involved.
+ * Not thread safe.
+ */
+public final class IntHashSet extends IntHashTable<Void> {
+
+    // region Constructors
+
+    /**
+     * Create an empty set with the default capacity.
+     */
+    public IntHashSet() {
+        super();
+    }
+
+    /**
+     * Create an empty set.
+     *
+     * @param expectedSize the number of values expected to be added.
+     */
+    public IntHashSet(final int expectedSize) {
+        super(expectedSize);
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Add a value.
+     *
+     * @param value the value to add.
+     * @return true if the value was not in the set, otherwise false.
+     */
+    public boolean add(final int value) {
+        return insertKey(value) < 0;
+    }
+
+    /**
+     * Check if the set contains a value.
+     *
+     * @param value the value to check.
+     * @return true if the value is in the set, otherwise false.
+     */
+    public boolean contains(final int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Remove a value.
+     *
+     * @param value the value to remove.
+     * @return true if the value was in the set, otherwise false.
+     */
+    public boolean remove(final int value) {
+        final int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    // endregion
+
+    // region Protected Methods
+
+    @Override
+    protected Void newValues(final int capacity) {
+        return null;
+    }
+
+    @Override
+    protected void moveValue(final Void from, final int fromIndex, final Void to, final int toIndex) {
+        // No value to move.
+    }
+
+    @Override
+    protected void clearValue(final Void values, final int index) {
+        // No value to clear.
+    }
+
+    // endregion
+}
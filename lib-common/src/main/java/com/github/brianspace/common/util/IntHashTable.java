@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.common.util;
+
+/**
+ * Base of the hash tables keyed by primitive int, using open addressing with linear probing.
+ * The keys and the slot occupancy are managed here, and the subclasses keep the values in an array of type
+ * {@code A} which is allocated, moved and cleared through the abstract methods. Slots are removed by shifting the
+ * following slots backward, so no tombstone is needed. Not thread safe.
+ *
+ * @param <A> type of the array of values, or {@link Void} if there is no value.
+ */
+public abstract class IntHashTable<A> {
+
+    // region Private Constants
+
+    /**
+     * Minimum capacity, must be a power of 2.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Multiplier used to spread the keys (golden ratio).
+     */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    // endregion
+
+    // region Private Fields
+
+    /**
+     * Keys of the slots.
+     */
+    private int[] keys;
+
+    /**
+     * Whether each slot is occupied.
+     */
+    private boolean[] used;
+
+    /**
+     * Values of the slots.
+     */
+    private A values;
+
+    /**
+     * Number of occupied slots.
+     */
+    private int size;
+
+    // endregion
+
+    // region Constructors
+
+    /**
+     * Create an empty table with the minimum capacity.
+     */
+    protected IntHashTable() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Create an empty table.
+     *
+     * @param expectedSize the number of keys expected to be added.
+     */
+    protected IntHashTable(final int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Remove all keys.
+     */
+    public void clear() {
+        if (size > 0) {
+            allocate(keys.length);
+            size = 0;
+        }
+    }
+
+    /**
+     * Get the number of occupied slots.
+     */
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Check if the table is empty.
+     */
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    // endregion
+
+    // region Protected Methods
+
+    /**
+     * Allocate the array of values.
+     *
+     * @param capacity the number of slots.
+     */
+    protected abstract A newValues(int capacity);
+
+    /**
+     * Move a value to another slot, which can be in another array.
+     */
+    protected abstract void moveValue(A from, int fromIndex, A to, int toIndex);
+
+    /**
+     * Clear the value of a slot which is no longer occupied.
+     */
+    protected abstract void clearValue(A values, int index);
+
+    /**
+     * Check if the value of an occupied slot should be kept when the table is rehashed. All values are kept by
+     * default.
+     */
+    protected boolean isLive(final A values, final int index) {
+        return true;
+    }
+
+    /**
+     * Get the array of values. The array is replaced when the table is rehashed or cleared.
+     */
+    protected final A getValues() {
+        return values;
+    }
+
+    /**
+     * Get the capacity of the table, which is the length of the array of values.
+     */
+    protected final int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Check if a slot is occupied.
+     */
+    protected final boolean isUsed(final int index) {
+        return used[index];
+    }
+
+    /**
+     * Find the slot of a key.
+     *
+     * @return the index of the slot, or -1 if not found.
+     */
+    protected final int indexOf(final int key) {
+        final int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Find the slot of a key, or occupy a free slot for it, rehashing the table first if it is too full.
+     *
+     * @return the index of the existing slot, or the bitwise complement ({@code ~index}) of the newly occupied slot.
+     */
+    protected final int insertKey(final int key) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            return index;
+        }
+
+        if ((size + 1) * 4 > keys.length * 3) {
+            rehash();
+        }
+
+        ++size;
+        return ~insert(key);
+    }
+
+    /**
+     * Remove an occupied slot.
+     */
+    protected final void removeAt(final int index) {
+        final int mask = keys.length - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (used[next]) {
+            final int home = hash(keys[next]) & mask;
+            // Move the entry into the hole if its home slot is not within (hole, next].
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                moveValue(values, next, values, hole);
+                hole = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        used[hole] = false;
+        clearValue(values, hole);
+        --size;
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private static int hash(final int key) {
+        final int hash = key * HASH_MULTIPLIER;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < expectedSize * 4) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Occupy a free slot for a key which is not in the table.
+     *
+     * @return the index of the slot.
+     */
+    private int insert(final int key) {
+        final int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (used[index]) {
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        used[index] = true;
+        return index;
+    }
+
+    /**
+     * Drop the slots whose values are not live, and grow the table if it is still more than half full.
+     */
+    private void rehash() {
+        final int[] oldKeys = keys;
+        final boolean[] oldUsed = used;
+        final A oldValues = values;
+
+        int liveCount = 0;
+        final boolean[] live = new boolean[oldKeys.length];
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldUsed[i] && isLive(oldValues, i)) {
+                live[i] = true;
+                ++liveCount;
+            }
+        }
+
+        int capacity = oldKeys.length;
+        if ((liveCount + 1) * 2 > capacity) {
+            capacity <<= 1;
+        }
+
+        allocate(capacity);
+        size = liveCount;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (live[i]) {
+                moveValue(oldValues, i, values, insert(oldKeys[i]));
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        used = new boolean[capacity];
+        values = newValues(capacity);
+    }
+
+    // endregion
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.util;
+
+/**
+ * Map from primitive int keys to primitive int values, implemented as an open-addressing hash table with linear
+ * probing. Putting, removing and getting a value are O(1) on average and no boxing is involved.
+ * Not thread safe.
+ */
+public final class IntIntHashMap extends IntHashTable<int[]> {
+
+    // region Constructors
+
+    /**
+     * Create an empty map with the default capacity.
+     */
+    public IntIntHashMap() {
+        super();
+    }
+
+    /**
+     * Create an empty map.
+     *
+     * @param expectedSize the number of entries expected to be added.
+     */
+    public IntIntHashMap(final int expectedSize) {
+        super(expectedSize);
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Get the value of a key.
+     *
+     * @param key the key to look up.
+     * @param defaultValue the value to return if the key is not in the map.
+     * @return the value of the key, or defaultValue if not found.
+     */
+    public int get(final int key, final int defaultValue) {
+        final int index = indexOf(key);
+        return index < 0 ? defaultValue : getValues()[index];
+    }
+
+    /**
+     * Set the value of a key, replacing the existing one.
+     *
+     * @param key the key.
+     * @param value the value.
+     */
+    public void put(final int key, final int value) {
+        final int index = insertKey(key);
+        getValues()[index < 0 ? ~index : index] = value;
+    }
+
+    /**
+     * Check if the map contains a key.
+     *
+     * @param key the key to check.
+     * @return true if the key is in the map, otherwise false.
+     */
+    public boolean containsKey(final int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Remove a key and its value.
+     *
+     * @param key the key to remove.
+     * @return true if the key was in the map, otherwise false.
+     */
+    public boolean remove(final int key) {
+        final int index = indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    // endregion
+
+    // region Protected Methods
+
+    @Override
+    protected int[] newValues(final int capacity) {
+        return new int[capacity];
+    }
+
+    @Override
+    protected void moveValue(final int[] from, final int fromIndex, final int[] to, final int toIndex) {
+        to[toIndex] = from[fromIndex];
+    }
+
+    @Override
+    protected void clearValue(final int[] values, final int index) {
+        // Primitive values need no clearing.
+    }
+
+    // endregion
+}
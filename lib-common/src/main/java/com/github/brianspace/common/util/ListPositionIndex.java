@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.util;
+
+import android.support.annotation.NonNull;
+import java.util.List;
+
+/**
+ * Index from the int id of the items in a list to their positions, for lists which only get items added to the front
+ * or the back, and removed from anywhere.
+ * Each item is given an order key that increases from the front to the back of the list, so checking if an id is in
+ * the list is O(1) and finding its position is a binary search over the order keys, O(log n).
+ * The index must be updated together with every change of the list. Not thread safe.
+ *
+ * @param <T> type of the items in the list.
+ */
+public final class ListPositionIndex<T> {
+
+    // region Private Constants
+
+    /**
+     * Order key returned for the ids not in the index.
+     */
+    private static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    // endregion
+
+    // region Private Fields
+
+    /**
+     * Function to get the id of an item.
+     */
+    private final ToIntFunction<T> idGetter;
+
+    /**
+     * Order keys of the ids.
+     */
+    private final IntIntHashMap orderKeys = new IntIntHashMap();
+
+    /**
+     * Order key of the first item, decreased for each item added to the front.
+     */
+    private int frontKey;
+
+    /**
+     * Order key for the next item added to the back.
+     */
+    private int backKey;
+
+    // endregion
+
+    // region Constructors
+
+    /**
+     * Create an empty index.
+     *
+     * @param idGetter function to get the id of an item.
+     */
+    public ListPositionIndex(@NonNull final ToIntFunction<T> idGetter) {
+        this.idGetter = Assertion.notNull(idGetter);
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    /**
+     * Check if an item with the id is in the list.
+     *
+     * @param id the id to check.
+     * @return true if found, otherwise false.
+     */
+    public boolean contains(final int id) {
+        return orderKeys.containsKey(id);
+    }
+
+    /**
+     * Record an item added to the front of the list.
+     *
+     * @param item the item added.
+     */
+    public void addFirst(@NonNull final T item) {
+        orderKeys.put(idGetter.applyAsInt(item), --frontKey);
+    }
+
+    /**
+     * Record an item added to the back of the list.
+     *
+     * @param item the item added.
+     */
+    public void addLast(@NonNull final T item) {
+        orderKeys.put(idGetter.applyAsInt(item), backKey++);
+    }
+
+    /**
+     * Record an item removed from the list.
+     *
+     * @param id id of the item removed.
+     * @return true if the id was in the index, otherwise false.
+     */
+    public boolean remove(final int id) {
+        return orderKeys.remove(id);
+    }
+
+    /**
+     * Record the list being cleared.
+     */
+    public void clear() {
+        orderKeys.clear();
+        frontKey = 0;
+        backKey = 0;
+    }
+
+    /**
+     * Find the position of an item in the list.
+     *
+     * @param list the indexed list.
+     * @param id id of the item to find.
+     * @return the position of the item, or -1 if not found.
+     */
+    public int indexOf(@NonNull final List<T> list, final int id) {
+        final int key = orderKeys.get(id, NOT_FOUND);
+        if (key == NOT_FOUND) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = list.size() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int midKey = orderKeys.get(idGetter.applyAsInt(list.get(mid)), NOT_FOUND);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -1;
+    }
+
+    // endregion
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.common.util;
+
+import android.support.annotation.NonNull;
+
+/**
+ * A functional interface that takes a value and returns a primitive int, without boxing.
+ *
+ * @param <T> the input value type
+ */
+public interface ToIntFunction<T> {
+
+    /**
+     * Apply some calculation to the input value and return an int.
+     *
+     * @param t the input value
+     * @return the output value
+     */
+    int applyAsInt(@NonNull T t);
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.common.objstore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConcurrentWeakIntMap}.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired",
+        "PMD.DoNotCallGarbageCollectionExplicitly"})
+public class ConcurrentWeakIntMapTest {
+
+    // region Private Constants
+
+    private static final int ENTRY_COUNT = 100;
+
+    private static final int MAX_GC_ATTEMPTS = 50;
+
+    private static final long GC_WAIT_MS = 20;
+
+    // endregion
+
+    // region Public Methods
+
+    @Test
+    public void testPutGetRemove() {
+        final ConcurrentWeakIntMap<Object> map = new ConcurrentWeakIntMap<>();
+        final List<Object> values = new ArrayList<>(ENTRY_COUNT);
+        for (int key = 0; key < ENTRY_COUNT; ++key) {
+            final Object value = new Object();
+            values.add(value);
+            map.put(key, value);
+        }
+
+        assertEquals("Size does not match.", ENTRY_COUNT, map.size());
+        for (int key = 0; key < ENTRY_COUNT; ++key) {
+            assertSame("Value does not match.", values.get(key), map.get(key));
+        }
+
+        for (int key = 0; key < ENTRY_COUNT; key += 2) {
+            map.remove(key);
+        }
+
+        assertEquals("Size after removal does not match.", ENTRY_COUNT / 2, map.size());
+        for (int key = 0; key < ENTRY_COUNT; ++key) {
+            if (key % 2 == 0) {
+                assertNull("Removed value should not be found.", map.get(key));
+            } else {
+                assertSame("Kept value does not match.", values.get(key), map.get(key));
+            }
+        }
+    }
+
+    @Test
+    public void testComputeIfAbsentCreatesOnce() {
+        final ConcurrentWeakIntMap<Object> map = new ConcurrentWeakIntMap<>();
+        final Object first = map.computeIfAbsent(1, "source", source -> new Object());
+        final Object second = map.computeIfAbsent(1, "source", source -> new Object());
+        assertSame("The existing value should be returned.", first, second);
+    }
+
+    @Test
+    public void testCollectedEntriesExpunged() throws InterruptedException {
+        final ConcurrentWeakIntMap<Object> map = new ConcurrentWeakIntMap<>();
+        final List<Object> kept = putValues(map);
+        assertEquals("All entries should be added.", ENTRY_COUNT, map.size());
+
+        final int expunged = collectAndExpunge(map, ENTRY_COUNT / 2);
+        assertEquals("Collected entries should be expunged.", ENTRY_COUNT / 2, expunged);
+        assertEquals("Size should only count the kept entries.", ENTRY_COUNT / 2, map.size());
+        assertEquals("Live count should only count the kept entries.", ENTRY_COUNT / 2, map.liveCount());
+        for (int i = 0; i < kept.size(); ++i) {
+            assertSame("Kept value does not match.", kept.get(i), map.get(i * 2));
+        }
+    }
+
+    @Test
+    public void testReplacedEntryNotExpunged() throws InterruptedException {
+        final ConcurrentWeakIntMap<Object> map = new ConcurrentWeakIntMap<>();
+        putValue(map, 1);
+        putValue(map, 2);
+        // The collected value of key 1 has been replaced, so its stale reference should not remove the new one.
+        final Object replacement = new Object();
+        map.put(1, replacement);
+
+        assertEquals("Only the entry of key 2 should be expunged.", 1, collectAndExpunge(map, 1));
+        assertSame("Replacement should be kept.", replacement, map.get(1));
+        assertEquals("Size does not match.", 1, map.size());
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    /**
+     * Put the values and only keep the ones of even keys strongly reachable.
+     */
+    private static List<Object> putValues(final ConcurrentWeakIntMap<Object> map) {
+        final List<Object> kept = new ArrayList<>(ENTRY_COUNT / 2);
+        for (int key = 0; key < ENTRY_COUNT; ++key) {
+            final Object value = new Object();
+            map.put(key, value);
+            if (key % 2 == 0) {
+                kept.add(value);
+            }
+        }
+
+        return kept;
+    }
+
+    private static void putValue(final ConcurrentWeakIntMap<Object> map, final int key) {
+        map.put(key, new Object());
+    }
+
+    /**
+     * Run GC until the expected number of references have been enqueued and expunged, or give up after a number of
+     * attempts.
+     *
+     * @return the number of entries expunged.
+     */
+    private static int collectAndExpunge(final ConcurrentWeakIntMap<Object> map, final int expected)
+            throws InterruptedException {
+        int expunged = 0;
+        for (int attempt = 0; attempt < MAX_GC_ATTEMPTS && expunged < expected; ++attempt) {
+            System.gc();
+            Thread.sleep(GC_WAIT_MS);
+            expunged += map.expungeStaleEntries();
+        }
+
+        return expunged;
+    }
+
+    // endregion
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.brianspace.common.objstore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.support.v4.util.LruCache;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ObjectStore} and {@link ModelObjectStore}: the lookup counters and the LRU tier.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired",
+        "PMD.DoNotCallGarbageCollectionExplicitly"})
+public class ObjectStoreTest {
+
+    // region Private Constants
+
+    private static final int RECENT_COUNT = 4;
+
+    private static final int CREATE_COUNT = 20;
+
+    /**
+     * Number of hits to make sure one of them refreshes the object in the LRU cache.
+     */
+    private static final int SAMPLED_HIT_COUNT = 8;
+
+    private static final int MAX_GC_ATTEMPTS = 50;
+
+    private static final long GC_WAIT_MS = 20;
+
+    // endregion
+
+    // region Private Types
+
+    private static final class Data implements IEntity {
+        private final int id;
+
+        private Data(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+    }
+
+    private static final class Model {
+        private final int id;
+
+        private Model(final Data data) {
+            this.id = data.getId();
+        }
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    @Test
+    public void testLookupCounters() {
+        final ModelObjectStore<Model, Data> store = new ModelObjectStore<>(Model::new);
+        store.find(1);
+        assertEquals("Not found should be a miss.", 1, store.missCount());
+
+        final Model model = store.getOrCreate(new Data(1));
+        assertEquals("Creation should be a miss.", 2, store.missCount());
+        assertSame("Existing model should be returned.", model, store.getOrCreate(new Data(1)));
+        assertSame("Existing model should be found.", model, store.find(1));
+        assertEquals("Found models should be hits.", 2, store.hitCount());
+
+        assertTrue("Model should exist.", store.contains(1));
+        assertFalse("Model should not exist.", store.contains(2));
+        assertEquals("contains() should not count as a hit.", 2, store.hitCount());
+        assertEquals("contains() should not count as a miss.", 2, store.missCount());
+    }
+
+    @Test
+    public void testBatchLookupCounters() {
+        final ModelObjectStore<Model, Data> store = new ModelObjectStore<>(Model::new);
+        final Model existing = store.getOrCreate(new Data(1));
+
+        final List<Model> models = store.getOrCreateAll(Arrays.asList(new Data(1), new Data(2), new Data(2)));
+        assertSame("Existing model should be returned.", existing, models.get(0));
+        assertNotSame("New model should be created.", existing, models.get(1));
+        assertSame("Duplicated ID should get the same model.", models.get(1), models.get(2));
+        assertEquals("Only the created models should be misses.", 2, store.missCount());
+        assertEquals("The existing models should be hits.", 2, store.hitCount());
+    }
+
+    @Test
+    public void testRecentModelsKept() throws InterruptedException {
+        final ModelObjectStore<Model, Data> store =
+                new ModelObjectStore<>(Model::new, new LruCache<Integer, Model>(RECENT_COUNT));
+        createModels(store, 1, CREATE_COUNT);
+
+        collect(store, RECENT_COUNT);
+        assertEquals("Only the recent models should be kept.", RECENT_COUNT, store.liveCount());
+        for (int id = CREATE_COUNT - RECENT_COUNT + 1; id <= CREATE_COUNT; ++id) {
+            assertTrue("Recent model should be kept.", store.contains(id));
+        }
+    }
+
+    @Test
+    public void testSampledHitsRefreshRecentModels() throws InterruptedException {
+        final ModelObjectStore<Model, Data> store =
+                new ModelObjectStore<>(Model::new, new LruCache<Integer, Model>(2));
+        createModels(store, 1, 2);
+        for (int i = 0; i < SAMPLED_HIT_COUNT; ++i) {
+            store.find(1);
+        }
+
+        // Model 1 was refreshed by the hits, so model 2 is evicted by model 3.
+        createModels(store, 3, 3);
+        collect(store, 2);
+        assertTrue("Refreshed model should be kept.", store.contains(1));
+        assertFalse("Evicted model should be collected.", store.contains(2));
+        assertTrue("New model should be kept.", store.contains(3));
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    private static void createModels(final ModelObjectStore<Model, Data> store, final int firstId, final int lastId) {
+        for (int id = firstId; id <= lastId; ++id) {
+            assertEquals("Model ID does not match.", id, store.getOrCreate(new Data(id)).id);
+        }
+    }
+
+    /**
+     * Run GC until only the expected number of models are reachable, or give up after a number of attempts.
+     */
+    private static void collect(final ObjectStore<Model> store, final int expectedLiveCount)
+            throws InterruptedException {
+        for (int attempt = 0; attempt < MAX_GC_ATTEMPTS && store.liveCount() > expectedLiveCount; ++attempt) {
+            System.gc();
+            Thread.sleep(GC_WAIT_MS);
+        }
+    }
+
+    // endregion
+}
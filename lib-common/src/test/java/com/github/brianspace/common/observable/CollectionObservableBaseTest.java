@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import android.support.annotation.NonNull;
+import com.github.brianspace.common.observable.ICollectionObserver.Action;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Unit tests for the batched notifications of {@link CollectionObservableBase}.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class CollectionObservableBaseTest {
+
+    // region Private Constants
+
+    private static final int THREAD_COUNT = 8;
+
+    private static final int APPENDS_PER_THREAD = 20000;
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    // endregion
+
+    // region Private Types
+
+    private static final class TestCollection extends CollectionObservableBase {
+        /* default */ void begin() {
+            beginBatch();
+        }
+
+        /* default */ void end() {
+            endBatch();
+        }
+
+        /* default */ void change(@NonNull final Action action, final Object item, final List<Object> range) {
+            setChanged();
+            notifyObservers(action, item, range);
+        }
+    }
+
+    /**
+     * Observer which records the notifications, and the items appended in total.
+     */
+    private static final class RecordingObserver implements ICollectionObserver {
+        /* default */ final List<Action> actions = new ArrayList<>();
+        /* default */ final List<Object> appended = new ArrayList<>();
+
+        @Override
+        public synchronized void onUpdate(@NonNull final IObservable<ICollectionObserver> observable,
+                @NonNull final Action action, final Object item, final List<Object> range) {
+            actions.add(action);
+            if (action == Action.AppendItem) {
+                appended.add(item);
+            } else if (action == Action.AppendRange) {
+                appended.addAll(range);
+            }
+        }
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    @Test
+    public void testAppendsInBatchAreCoalesced() {
+        final TestCollection collection = new TestCollection();
+        final RecordingObserver observer = new RecordingObserver();
+        collection.addObserver(observer);
+
+        collection.begin();
+        collection.begin();
+        collection.change(Action.AppendItem, "a", null);
+        collection.change(Action.AppendRange, null, Arrays.<Object>asList("b", "c"));
+        collection.end();
+        assertEquals(Collections.emptyList(), observer.actions);
+
+        collection.end();
+        assertEquals(Collections.singletonList(Action.AppendRange), observer.actions);
+        assertEquals(Arrays.<Object>asList("a", "b", "c"), observer.appended);
+
+        // An unbalanced end is ignored.
+        collection.end();
+        collection.change(Action.AppendItem, "d", null);
+        assertEquals(Arrays.asList(Action.AppendRange, Action.AppendItem), observer.actions);
+    }
+
+    @Test
+    public void testOtherChangeFlushesPendingAppendsFirst() {
+        final TestCollection collection = new TestCollection();
+        final RecordingObserver observer = new RecordingObserver();
+        collection.addObserver(observer);
+
+        collection.begin();
+        collection.change(Action.AppendItem, "a", null);
+        collection.change(Action.RemoveItem, "a", null);
+        collection.end();
+
+        assertEquals(Arrays.asList(Action.AppendItem, Action.RemoveItem), observer.actions);
+        assertEquals(Collections.<Object>singletonList("a"), observer.appended);
+    }
+
+    @Test
+    public void testBatchHoldsBackOnlyItsThread() throws InterruptedException {
+        final TestCollection collection = new TestCollection();
+        final RecordingObserver observer = new RecordingObserver();
+        collection.addObserver(observer);
+
+        collection.begin();
+        collection.change(Action.AppendItem, "a", null);
+        final Thread other = new Thread(() -> collection.change(Action.AppendItem, "b", null));
+        other.start();
+        other.join();
+        assertEquals(Collections.singletonList(Action.AppendItem), observer.actions);
+        assertEquals(Collections.<Object>singletonList("b"), observer.appended);
+
+        collection.end();
+        assertEquals(Arrays.asList(Action.AppendItem, Action.AppendItem), observer.actions);
+        assertEquals(Arrays.<Object>asList("b", "a"), observer.appended);
+    }
+
+    @Test
+    public void testConcurrentBatchesLoseNoAppend() throws InterruptedException {
+        final TestCollection collection = new TestCollection();
+        final RecordingObserver observer = new RecordingObserver();
+        collection.addObserver(observer);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(THREAD_COUNT);
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+        for (int t = 0; t < THREAD_COUNT; ++t) {
+            final int base = t * APPENDS_PER_THREAD;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    // Each thread keeps an outer batch open, so that its appends are sent in one notification.
+                    collection.begin();
+                    for (int i = 0; i < APPENDS_PER_THREAD; ++i) {
+                        collection.begin();
+                        collection.change(Action.AppendItem, base + i, null);
+                        collection.end();
+                    }
+                    collection.end();
+                } catch (final InterruptedException | RuntimeException e) {
+                    errors.add(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        start.countDown();
+        done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(Collections.emptyList(), errors);
+
+        // Every append is notified exactly once, in one range per thread.
+        assertEquals(Collections.nCopies(THREAD_COUNT, Action.AppendRange), observer.actions);
+        final List<Object> appended = new ArrayList<>(observer.appended);
+        assertEquals(THREAD_COUNT * APPENDS_PER_THREAD, appended.size());
+        final boolean[] seen = new boolean[THREAD_COUNT * APPENDS_PER_THREAD];
+        for (final Object item : appended) {
+            final int value = (Integer) item;
+            assertFalse(seen[value]);
+            seen[value] = true;
+        }
+    }
+
+    // endregion
+}
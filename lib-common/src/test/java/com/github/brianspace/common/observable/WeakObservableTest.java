@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.support.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link WeakObservable}: registration, removal, garbage collection and dispatching of observers.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired",
+        "PMD.DoNotCallGarbageCollectionExplicitly"})
+public class WeakObservableTest {
+
+    // region Private Constants
+
+    private static final int MAX_GC_ATTEMPTS = 50;
+
+    private static final long GC_WAIT_MS = 20;
+
+    // endregion
+
+    // region Private Types
+
+    private static final class TestObservable extends ObjectObservableBase {
+        /* default */ void change() {
+            setChanged();
+            notifyObservers();
+        }
+    }
+
+    /**
+     * Dispatcher which keeps the tasks until they are run by the test.
+     */
+    private static final class RecordingDispatcher implements IObserverDispatcher {
+        /* default */ final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void dispatch(@NonNull final Runnable task) {
+            tasks.add(task);
+        }
+
+        /* default */ void runAll() {
+            final List<Runnable> pending = new ArrayList<>(tasks);
+            tasks.clear();
+            for (final Runnable task : pending) {
+                task.run();
+            }
+        }
+    }
+
+    /**
+     * Observer which records its name to a shared log when notified.
+     */
+    private static final class NamedObserver implements IObserver {
+        private final String name;
+        private final List<String> log;
+
+        /* default */ NamedObserver(final String name, final List<String> log) {
+            this.name = name;
+            this.log = log;
+        }
+
+        @Override
+        public void onUpdate(@NonNull final IObservable<IObserver> observable, final Object data) {
+            log.add(name);
+        }
+    }
+
+    // endregion
+
+    // region Public Methods
+
+    @Test
+    public void testDuplicateRegistrationNotifiesOnce() {
+        final TestObservable observable = new TestObservable();
+        final List<String> log = new ArrayList<>();
+        final NamedObserver first = new NamedObserver("first", log);
+        final NamedObserver second = new NamedObserver("second", log);
+        observable.addObserver(first);
+        observable.addObserver(second);
+        observable.addObserver(first);
+
+        observable.change();
+        assertEquals(Arrays.asList("first", "second"), log);
+
+        observable.deleteObserver(first);
+        log.clear();
+        observable.change();
+        assertEquals(Collections.singletonList("second"), log);
+    }
+
+    @Test
+    public void testAddingAgainReplacesDispatcherAndKeepsOrder() {
+        final TestObservable observable = new TestObservable();
+        final List<String> log = new ArrayList<>();
+        final NamedObserver first = new NamedObserver("first", log);
+        final NamedObserver second = new NamedObserver("second", log);
+        final RecordingDispatcher oldDispatcher = new RecordingDispatcher();
+        final RecordingDispatcher newDispatcher = new RecordingDispatcher();
+        observable.addObserver(first, oldDispatcher);
+        observable.addObserver(second, oldDispatcher);
+        observable.addObserver(first, newDispatcher);
+
+        observable.change();
+        assertEquals(1, oldDispatcher.tasks.size());
+        assertEquals(1, newDispatcher.tasks.size());
+        newDispatcher.runAll();
+        oldDispatcher.runAll();
+        assertEquals(Arrays.asList("first", "second"), log);
+
+        // Back to immediate, still before the second observer.
+        observable.addObserver(first);
+        observable.addObserver(second);
+        log.clear();
+        observable.change();
+        assertTrue(newDispatcher.tasks.isEmpty());
+        assertTrue(oldDispatcher.tasks.isEmpty());
+        assertEquals(Arrays.asList("first", "second"), log);
+    }
+
+    @Test
+    public void testRemovalDuringNotify() {
+        final TestObservable observable = new TestObservable();
+        final List<String> log = new ArrayList<>();
+        final NamedObserver second = new NamedObserver("second", log);
+        final IObserver remover = new IObserver() {
+            @Override
+            public void onUpdate(@NonNull final IObservable<IObserver> source, final Object data) {
+                log.add("remover");
+                source.deleteObserver(this);
+                source.deleteObserver(second);
+            }
+        };
+
+        observable.addObserver(remover);
+        observable.addObserver(second);
+
+        // The ongoing notification goes through the observers registered when it started.
+        observable.change();
+        assertEquals(Arrays.asList("remover", "second"), log);
+
+        log.clear();
+        observable.change();
+        assertTrue(log.isEmpty());
+    }
+
+    @Test
+    public void testCollectedObserverIsDropped() throws InterruptedException {
+        final TestObservable observable = new TestObservable();
+        final List<String> log = new ArrayList<>();
+        final NamedObserver kept = new NamedObserver("kept", log);
+        addTemporaryObserver(observable, log);
+        observable.addObserver(kept);
+
+        for (int i = 0; i < MAX_GC_ATTEMPTS; ++i) {
+            System.gc();
+            Thread.sleep(GC_WAIT_MS);
+            log.clear();
+            observable.change();
+            if (log.size() == 1) {
+                break;
+            }
+        }
+
+        assertEquals(Collections.singletonList("kept"), log);
+
+        // The collected observer is removed from the snapshot, and the others are still notified.
+        log.clear();
+        observable.change();
+        assertEquals(Collections.singletonList("kept"), log);
+    }
+
+    @Test
+    public void testDispatcherGroupingAndOrder() {
+        final TestObservable observable = new TestObservable();
+        final List<String> log = new ArrayList<>();
+        final RecordingDispatcher firstDispatcher = new RecordingDispatcher();
+        final RecordingDispatcher secondDispatcher = new RecordingDispatcher();
+        final List<NamedObserver> observers = Arrays.asList(new NamedObserver("a", log),
+                new NamedObserver("b", log), new NamedObserver("c", log), new NamedObserver("d", log),
+                new NamedObserver("e", log));
+        observable.addObserver(observers.get(0));
+        observable.addObserver(observers.get(1), firstDispatcher);
+        observable.addObserver(observers.get(2), secondDispatcher);
+        observable.addObserver(observers.get(3), firstDispatcher);
+        observable.addObserver(observers.get(4));
+
+        // The immediate observers are notified in place, and each dispatcher gets one task.
+        observable.change();
+        assertEquals(Arrays.asList("a", "e"), log);
+        assertEquals(1, firstDispatcher.tasks.size());
+        assertEquals(1, secondDispatcher.tasks.size());
+
+        log.clear();
+        secondDispatcher.runAll();
+        firstDispatcher.runAll();
+        assertEquals(Arrays.asList("c", "b", "d"), log);
+    }
+
+    // endregion
+
+    // region Private Methods
+
+    /**
+     * Add an observer which is not referenced anywhere else, so that it can be garbage collected.
+     */
+    private static void addTemporaryObserver(final TestObservable observable, final List<String> log) {
+        observable.addObserver(new NamedObserver("temporary", log));
+    }
+
+    // endregion
+}
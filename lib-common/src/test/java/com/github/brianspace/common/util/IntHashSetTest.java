@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link IntHashSet}, checked against {@link HashSet}.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class IntHashSetTest {
+
+    // region Private Constants
+
+    private static final int OPERATION_COUNT = 20000;
+
+    /**
+     * Range of the random values, small enough for frequent collisions and re-adding of removed values.
+     */
+    private static final int VALUE_RANGE = 500;
+
+    private static final long SEED = 42;
+
+    // endregion
+
+    // region Public Methods
+
+    @Test
+    public void testAddRemoveContains() {
+        final IntHashSet set = new IntHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(1));
+        assertFalse(set.add(1));
+        assertTrue(set.add(-1));
+        assertTrue(set.add(Integer.MIN_VALUE));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertFalse(set.contains(0));
+
+        assertTrue(set.remove(1));
+        assertFalse(set.remove(1));
+        assertFalse(set.contains(1));
+        assertEquals(2, set.size());
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(-1));
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashSet() {
+        final IntHashSet set = new IntHashSet();
+        final Set<Integer> expected = new HashSet<>();
+        final Random random = new Random(SEED);
+        for (int i = 0; i < OPERATION_COUNT; ++i) {
+            final int value = random.nextInt(VALUE_RANGE);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+
+            assertEquals(expected.size(), set.size());
+        }
+
+        for (int value = 0; value < VALUE_RANGE; ++value) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    // endregion
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link IntIntHashMap}, checked against {@link HashMap}.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class IntIntHashMapTest {
+
+    // region Private Constants
+
+    private static final int OPERATION_COUNT = 20000;
+
+    /**
+     * Range of the random keys, small enough for frequent collisions and re-adding of removed keys.
+     */
+    private static final int KEY_RANGE = 500;
+
+    private static final int MISSING = -1;
+
+    private static final long SEED = 7;
+
+    // endregion
+
+    // region Public Methods
+
+    @Test
+    public void testPutGetRemove() {
+        final IntIntHashMap map = new IntIntHashMap(2);
+        map.put(1, 10);
+        map.put(2, 20);
+        map.put(1, 11);
+        assertEquals(2, map.size());
+        assertEquals(11, map.get(1, MISSING));
+        assertEquals(MISSING, map.get(3, MISSING));
+
+        assertTrue(map.remove(1));
+        assertFalse(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertEquals(20, map.get(2, MISSING));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(MISSING, map.get(2, MISSING));
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        final IntIntHashMap map = new IntIntHashMap();
+        final Map<Integer, Integer> expected = new HashMap<>();
+        final Random random = new Random(SEED);
+        for (int i = 0; i < OPERATION_COUNT; ++i) {
+            final int key = random.nextInt(KEY_RANGE);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (int key = 0; key < KEY_RANGE; ++key) {
+            final Integer value = expected.get(key);
+            assertEquals(value == null ? MISSING : value, map.get(key, MISSING));
+        }
+    }
+
+    // endregion
+}
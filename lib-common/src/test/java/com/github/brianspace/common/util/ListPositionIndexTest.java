@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2018, Brian He
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.brianspace.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ListPositionIndex}.
+ */
+@SuppressWarnings({"PMD.JUnitTestContainsTooManyAsserts", "PMD.CommentRequired"})
+public class ListPositionIndexTest {
+
+    // region Private Constants
+
+    private static final int ITEM_COUNT = 100;
+
+    // endregion
+
+    // region Public Methods
+
+    @Test
+    public void testIndexOfAfterAddingToBothEnds() {
+        final List<int[]> list = new ArrayList<>();
+        final ListPositionIndex<int[]> index = new ListPositionIndex<>(item -> item[0]);
+        for (int i = 0; i < ITEM_COUNT; ++i) {
+            // Even ids go to the back and odd ids to the front.
+            final int[] item = {i};
+            if (i % 2 == 0) {
+                list.add(item);
+                index.addLast(item);
+            } else {
+                list.add(0, item);
+                index.addFirst(item);
+            }
+        }
+
+        for (int i = 0; i < list.size(); ++i) {
+            assertEquals(i, index.indexOf(list, list.get(i)[0]));
+        }
+
+        assertEquals(-1, index.indexOf(list, ITEM_COUNT));
+        assertFalse(index.contains(ITEM_COUNT));
+    }
+
+    @Test
+    public void testIndexOfAfterRemoval() {
+        final List<int[]> list = new ArrayList<>();
+        final ListPositionIndex<int[]> index = new ListPositionIndex<>(item -> item[0]);
+        for (int i = 0; i < ITEM_COUNT; ++i) {
+            final int[] item = {i};
+            list.add(item);
+            index.addLast(item);
+        }
+
+        // Remove every third item.
+        for (int i = list.size() - 1; i >= 0; i -= 3) {
+            assertTrue(index.remove(list.remove(i)[0]));
+        }
+
+        for (int i = 0; i < list.size(); ++i) {
+            assertEquals(i, index.indexOf(list, list.get(i)[0]));
+        }
+
+        assertFalse(index.remove(ITEM_COUNT - 1));
+        assertEquals(-1, index.indexOf(list, ITEM_COUNT - 1));
+
+        index.clear();
+        assertEquals(-1, index.indexOf(list, list.get(0)[0]));
+    }
+
+    // endregion
+}